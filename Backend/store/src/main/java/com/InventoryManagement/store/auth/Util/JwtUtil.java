@@ -1,6 +1,8 @@
 package com.InventoryManagement.store.auth.Util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,8 +16,12 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    public static final String ROLE_CLAIM = "role";
+
     private final Key key;
     private final long expirationMillis;
+    // Immutable and thread-safe, so built once instead of per call
+    private final JwtParser parser;
 
     public JwtUtil(
             @Value("${app.jwt.secret}") String secret,
@@ -24,29 +30,27 @@ public class JwtUtil {
         // Secret must be at least 32 bytes for HS256
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMillis = expirationMillis;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
-    public String generateToken(String username) {
+    // The role travels in the token so requests can be authorised without a user lookup
+    public String generateToken(String username, String role) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setSubject(username)
+                .claim(ROLE_CLAIM, role)
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + expirationMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    // Verifies the signature and expiry once; null when the token is not valid
+    public Claims parse(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
-
-    public String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claims.getSubject();
-    }
 }
\ No newline at end of file
@@ -1,33 +1,26 @@
 package com.InventoryManagement.store.auth.filter;
 
 import com.InventoryManagement.store.auth.service.AuthService;
-import com.InventoryManagement.store.entity.User;
-import com.InventoryManagement.store.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
 
 @Component
 public class TokenFilter extends OncePerRequestFilter {
 
     private final AuthService authService;
-    private final UserRepository userRepository;
 
-    public TokenFilter(AuthService authService, UserRepository userRepository) {
+    public TokenFilter(AuthService authService) {
         this.authService = authService;
-        this.userRepository = userRepository;
     }
 
     @Override
@@ -55,18 +48,11 @@ public class TokenFilter extends OncePerRequestFilter {
             }
         }
 
-        if (token != null && authService.isTokenValid(token)) {
-            String username = authService.getUsernameForToken(token);
-            List<SimpleGrantedAuthority> authorities = Collections.emptyList();
-            if (username != null) {
-                User user = userRepository.findByUsername(username).orElse(null);
-                if (user != null && user.getRole() != null) {
-                    String role = "ROLE_" + user.getRole().toUpperCase();
-                    authorities = List.of(new SimpleGrantedAuthority(role));
-                }
-            }
+        // Role comes from the token itself; recently verified tokens skip the signature check
+        AuthService.TokenPrincipal principal = token != null ? authService.verifyToken(token) : null;
+        if (principal != null) {
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    new UsernamePasswordAuthenticationToken(principal.username(), null, principal.authorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -3,6 +3,9 @@ package com.InventoryManagement.store.auth.service;
 import com.InventoryManagement.store.auth.dto.LoginRequest;
 import com.InventoryManagement.store.auth.dto.LoginResponse;
 import com.InventoryManagement.store.auth.dto.SignupRequest;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
 
 public interface AuthService {
 
@@ -23,7 +26,8 @@ public interface AuthService {
         return signup(req);
     }
 
-    boolean isTokenValid(String token);
+    // Who a bearer token belongs to, or null when it is invalid or expired
+    TokenPrincipal verifyToken(String token);
 
-    String getUsernameForToken(String token);
+    record TokenPrincipal(String username, List<GrantedAuthority> authorities) {}
 }
\ No newline at end of file
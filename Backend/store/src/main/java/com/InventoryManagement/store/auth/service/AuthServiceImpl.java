@@ -5,20 +5,32 @@ import com.InventoryManagement.store.auth.dto.LoginRequest;
 import com.InventoryManagement.store.auth.dto.LoginResponse;
 import com.InventoryManagement.store.auth.dto.SignupRequest;
 import com.InventoryManagement.store.auth.Util.JwtUtil;
+import com.InventoryManagement.store.common.cache.BoundedCache;
 import com.InventoryManagement.store.entity.User;
 import com.InventoryManagement.store.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Locale;
+
 @Service
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    // Recently verified tokens, each kept no longer than it stays valid
+    private final BoundedCache<String, TokenPrincipal> verified;
 
-    public AuthServiceImpl(UserRepository userRepository, JwtUtil jwtUtil) {
+    public AuthServiceImpl(UserRepository userRepository, JwtUtil jwtUtil,
+                           @Value("${app.jwt.cache.max-entries:10000}") int maxCachedTokens) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.verified = new BoundedCache<>(maxCachedTokens);
     }
 
     @Transactional(readOnly = true)
@@ -32,7 +44,7 @@ public class AuthServiceImpl implements AuthService {
         if (user == null) return null;
         String stored = user.getPassword();
         if (stored == null || !stored.equals(request.getPassword())) return null;
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
         return new LoginResponse(token, user);
     }
 
@@ -55,7 +67,7 @@ public class AuthServiceImpl implements AuthService {
         String role = canonicalRole(request.getRole());
         User newUser = new User(request.getUsername(), request.getEmail(), request.getPassword(), role);
         User saved = userRepository.saveAndFlush(newUser);
-        String token = jwtUtil.generateToken(saved.getUsername());
+        String token = jwtUtil.generateToken(saved.getUsername(), saved.getRole());
         return new LoginResponse(token, saved);
     }
 
@@ -70,13 +82,25 @@ public class AuthServiceImpl implements AuthService {
         };
     }
 
+    // A cache hit costs no signature check; a miss costs one. Only tokens issued before the role
+    // claim existed look the role up, once per token.
     @Override
-    public boolean isTokenValid(String token) {
-        return jwtUtil.validateToken(token);
-    }
-
-    @Override
-    public String getUsernameForToken(String token) {
-        return jwtUtil.extractUsername(token);
+    public TokenPrincipal verifyToken(String token) {
+        TokenPrincipal cached = verified.get(token);
+        if (cached != null) return cached;
+        Claims claims = jwtUtil.parse(token);
+        if (claims == null || claims.getSubject() == null) return null;
+        String username = claims.getSubject();
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        if (role == null) {
+            role = userRepository.findByUsername(username).map(User::getRole).orElse(null);
+        }
+        List<GrantedAuthority> authorities = role == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT)));
+        TokenPrincipal principal = new TokenPrincipal(username, authorities);
+        long ttl = claims.getExpiration() == null ? 0 : claims.getExpiration().getTime() - System.currentTimeMillis();
+        if (ttl > 0) verified.put(token, principal, ttl);
+        return principal;
     }
 }
\ No newline at end of file
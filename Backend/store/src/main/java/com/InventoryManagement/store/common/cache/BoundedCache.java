@@ -0,0 +1,117 @@
+package com.InventoryManagement.store.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Size-bounded concurrent LRU with optional expiry. Keys are spread over independently locked
+// stripes, each an access-ordered LinkedHashMap evicting its own eldest entry, so the bound is
+// approximate (per stripe) and contention stays low without a cache library.
+public class BoundedCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final long ttlMillis;
+
+    public BoundedCache(int maxEntries) {
+        this(maxEntries, 0);
+    }
+
+    // ttlMillis <= 0 keeps entries until evicted or invalidated
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxEntries, long ttlMillis) {
+        int perStripe = Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe<>(perStripe);
+        this.ttlMillis = ttlMillis;
+    }
+
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Entry<V> e = stripe.map.get(key);
+            if (e == null) return null;
+            if (e.expiresAt != 0 && e.expiresAt <= System.currentTimeMillis()) {
+                stripe.map.remove(key);
+                return null;
+            }
+            return e.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlMillis);
+    }
+
+    // Per-entry expiry, e.g. a token cached no longer than it stays valid
+    public void put(K key, V value, long ttlMillis) {
+        long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.map.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    // Loads outside the stripe lock; concurrent misses may both load, the last put wins
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) return cached;
+        V loaded = loader.apply(key);
+        if (loaded != null) put(key, loaded);
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.map.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.map.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                n += stripe.map.size();
+            }
+        }
+        return n;
+    }
+
+    private Stripe<K, V> stripeOf(K key) {
+        int h = key.hashCode();
+        return stripes[Math.floorMod(h ^ (h >>> 16), STRIPES)];
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        final LinkedHashMap<K, Entry<V>> map;
+
+        Stripe(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.InventoryManagement.store.common.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental RFC 4180 reader: one record per next() call, read straight from the underlying Reader
+// (wrap it in a BufferedReader). Quoted fields may contain commas, "" and line breaks.
+public final class CsvReader {
+
+    // Guards memory against a runaway quoted field or a file that is not CSV at all
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader in;
+    private long line = 1;
+    private long recordLine;
+    private int pushback = -2;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // Physical line the last record returned by next() started on
+    public long recordLine() { return recordLine; }
+
+    // Next record, or null at end of input. Blank lines are skipped.
+    public List<String> next() throws IOException {
+        while (true) {
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int chars = 0;
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while (true) {
+                c = read();
+                if (c == -1) {
+                    if (quoted) throw new CsvFormatException(recordLine, "Unterminated quoted field");
+                    break;
+                }
+                if (++chars > MAX_RECORD_CHARS) throw new CsvFormatException(recordLine, "Record longer than " + MAX_RECORD_CHARS + " characters");
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') field.append('"');
+                        else { quoted = false; unread(n); }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') unread(n);
+                    line++;
+                    break;
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any) return null;
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                if (c == -1) return null;
+                continue;
+            }
+            return fields;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+    public static final class CsvFormatException extends IOException {
+        private final long line;
+
+        public CsvFormatException(long line, String message) {
+            super("Line " + line + ": " + message);
+            this.line = line;
+        }
+
+        public long getLine() { return line; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.InventoryManagement.store.common.paging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private List<T> items;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    // Clamp a client supplied page size
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) return DEFAULT_LIMIT;
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    // rows were fetched with limit + 1 so the extra row tells us whether another page exists
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, Cursor> position, Function<E, T> mapper) {
+        boolean more = rows.size() > limit;
+        List<E> page = more ? rows.subList(0, limit) : rows;
+        List<T> items = new ArrayList<>(page.size());
+        for (E row : page) items.add(mapper.apply(row));
+        String next = more ? position.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
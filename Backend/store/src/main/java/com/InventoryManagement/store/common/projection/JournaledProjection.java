@@ -0,0 +1,125 @@
+package com.InventoryManagement.store.common.projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// In-memory state derived from the database and kept current from committed events, shared by
+// the projections behind /stats, /api/stock/summary, the invoice page totals and the low-stock set.
+// rebuild() loads a fresh state in a read-only transaction while a journal records the events
+// that arrive meanwhile, replays them onto the fresh state and swaps it in. Event threads share
+// the read lock; rebuild takes the write lock only for the replay and swap. An event that commits
+// between opening the journal and the load reading its rows is counted twice; the window is a few
+// milliseconds and the next rebuild corrects it.
+// Until the first rebuild succeeds the state is unseeded: readers must not scan on a request
+// (see requireSeeded) and owners retry the seed on a schedule via retrySeed().
+public final class JournaledProjection<S, E> {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledProjection.class);
+
+    // previous and fresh state of a successful rebuild; previous is null for the first seed
+    public record Rebuilt<S>(S previous, S fresh) {}
+
+    private final String name;
+    private final Supplier<S> loader;
+    private final BiConsumer<S, E> replay;
+    private final BiConsumer<S, S> onReplace;
+    private final TransactionTemplate readTx;
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private volatile S live;
+    private volatile List<E> journal; // events seen while rebuild is reading the database
+    private volatile boolean seeded;
+
+    // name appears in logs and the 503 message ("Stock totals"); loader runs inside the read-only
+    // transaction; replay applies one journaled event to a fresh state; onReplace, if not null,
+    // sees (previous, fresh) under the write lock whenever a seeded state is replaced, e.g. to
+    // report drift
+    public JournaledProjection(String name, S initial, Supplier<S> loader, BiConsumer<S, E> replay,
+                               BiConsumer<S, S> onReplace, PlatformTransactionManager txManager) {
+        this.name = name;
+        this.live = initial;
+        this.loader = loader;
+        this.replay = replay;
+        this.onReplace = onReplace;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    public boolean isSeeded() { return seeded; }
+
+    // Current state; before the first seed it is the initial (empty) one
+    public S current() { return live; }
+
+    // Current state for a request; 503 until seeded, never a scan on the request thread
+    public S requireSeeded() {
+        if (!seeded) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, name + " are still being prepared, retry shortly");
+        }
+        return live;
+    }
+
+    public void apply(E event) {
+        apply(event, s -> replay.accept(s, event));
+    }
+
+    // onLive updates the live state and may have side effects (e.g. collect crossings); a rebuild
+    // in progress gets the event through replay instead
+    public void apply(E event, Consumer<S> onLive) {
+        swapLock.readLock().lock();
+        try {
+            onLive.accept(live);
+            List<E> j = journal;
+            if (j != null) j.add(event);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // null when the load failed and the current state was kept
+    public Rebuilt<S> rebuild() {
+        synchronized (rebuildMonitor) {
+            journal = Collections.synchronizedList(new ArrayList<>());
+            S fresh;
+            try {
+                fresh = readTx.execute(tx -> loader.get());
+            } catch (RuntimeException e) {
+                journal = null;
+                log.warn("{} rebuild failed, keeping the current state", name, e);
+                return null;
+            }
+            swapLock.writeLock().lock();
+            try {
+                List<E> j = journal;
+                synchronized (j) {
+                    for (E event : j) replay.accept(fresh, event);
+                }
+                S previous = seeded ? live : null;
+                if (previous != null && onReplace != null) onReplace.accept(previous, fresh);
+                live = fresh;
+                journal = null;
+                seeded = true;
+                return new Rebuilt<>(previous, fresh);
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    // For a scheduled job: retries a failed startup seed well before the regular rebuild
+    public void retrySeed() {
+        if (!seeded) rebuild();
+    }
+}
@@ -0,0 +1,69 @@
+package com.InventoryManagement.store.common.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Cheap validator for list responses: a counter bumped after every committed change, prefixed
+// with a per-process epoch so a restart can never reissue a tag for different data. Reading it
+// before the query is safe: a change that lands in between only makes the next poll a full one.
+public class ChangeWatermark {
+
+    // Clients may keep the body but must revalidate every time; private because bodies are per user
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final String name;
+    private final AtomicLong changes = new AtomicLong();
+
+    protected ChangeWatermark(String name) {
+        this.name = name;
+    }
+
+    public void bump() {
+        changes.incrementAndGet();
+    }
+
+    // scope separates responses whose content depends on more than the URL, e.g. the caller. It is
+    // added as a SHA-256 digest: collision-free in practice, and safe inside a quoted ETag.
+    public String etag(String scope) {
+        String tag = name + "-" + epoch + "-" + changes.get();
+        if (scope != null) tag += "-" + digest(scope);
+        return "\"" + tag + "\"";
+    }
+
+    public String etag() {
+        return etag(null);
+    }
+
+    // Strong tag for one row; the row's @Version moves on every update
+    public static String entityTag(String kind, long id, long version) {
+        return "\"" + kind + "-" + id + "-" + version + "\"";
+    }
+
+    private static String digest(String scope) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // required on every JVM
+        }
+    }
+
+    // 304 before the body is built when If-None-Match matches, otherwise the body. checkNotModified
+    // writes the ETag header in both cases. A null etag (row not found) always builds the body.
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (etag != null && request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+}
@@ -0,0 +1,68 @@
+package com.InventoryManagement.store.common.web;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class CsvStreams {
+
+    private CsvStreams() {}
+
+    // CSV counterpart of JsonStreams.array: a header line, then one line per row as the source
+    // produces it. columns maps a row to its cell values (null is written as an empty cell).
+    public static <T> StreamingResponseBody table(String[] header, Function<T, Object[]> columns, Consumer<Consumer<T>> source) {
+        return out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                writeLine(w, header);
+                source.accept(row -> {
+                    try {
+                        writeLine(w, columns.apply(row));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                w.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    public static void writeLine(Writer w, Object[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) w.write(',');
+            if (cells[i] != null) w.write(escape(cells[i].toString()));
+        }
+        w.write("\r\n");
+    }
+
+    // Quotes the cell when it holds a delimiter, quote or line break; leading =+-@ are prefixed
+    // with ' so spreadsheets do not evaluate the cell as a formula
+    public static String escape(String cell) {
+        String s = cell;
+        if (!s.isEmpty() && "=+-@".indexOf(s.charAt(0)) >= 0 && !isNumber(s)) s = "'" + s;
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + s.replace("\"", "\"\"") + '"' : s;
+    }
+
+    private static boolean isNumber(String s) {
+        try {
+            Double.parseDouble(s);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.InventoryManagement.store.common.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public final class JsonStreams {
+
+    private JsonStreams() {}
+
+    // Writes a JSON array element by element as the source produces rows, so the response
+    // never exists in memory as a whole. The source runs on the async response thread.
+    public static <T> StreamingResponseBody array(ObjectMapper mapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                source.accept(row -> {
+                    try {
+                        gen.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.InventoryManagement.store.common.web;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class PdfStreams {
+
+    // Landscape A4 in points, Courier so columns line up
+    private static final int PAGE_WIDTH = 842;
+    private static final int PAGE_HEIGHT = 595;
+    private static final int MARGIN = 36;
+    private static final int FONT_SIZE = 7;
+    private static final int LEADING = 9;
+    private static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING;
+    private static final int CATALOG = 1, PAGES = 2, FONT = 3;
+
+    private PdfStreams() {}
+
+    // PDF counterpart of CsvStreams.table: a plain text table, each page headed by the title and
+    // the column header. Pages are written as soon as they fill, so memory holds one page plus the
+    // object offsets the cross-reference table needs. widths are column widths in characters.
+    public static <T> StreamingResponseBody table(String title, String[] header, int[] widths,
+                                                  Function<T, Object[]> columns, Consumer<Consumer<T>> source) {
+        return out -> {
+            Document doc = new Document(new BufferedOutputStream(out, 64 * 1024), title, format(header, widths));
+            try {
+                source.accept(row -> {
+                    try {
+                        doc.line(format(columns.apply(row), widths));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                doc.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static String format(Object[] cells, int[] widths) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cells.length; i++) {
+            String v = cells[i] == null ? "" : cells[i].toString().replace('\r', ' ').replace('\n', ' ');
+            int w = i < widths.length ? widths[i] : 12;
+            if (v.length() > w) v = v.substring(0, Math.max(0, w - 1)) + "~";
+            sb.append(v);
+            for (int pad = v.length(); pad < w + 1; pad++) sb.append(' ');
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    private static final class Document {
+        private final OutputStream out;
+        private final String title;
+        private final String header;
+        private final List<Integer> pageObjects = new ArrayList<>();
+        private long[] offsets = new long[64]; // by object number
+        private long written;
+        private int nextObject = FONT + 1;
+        private final List<String> page = new ArrayList<>(LINES_PER_PAGE);
+
+        Document(OutputStream out, String title, String header) throws IOException {
+            this.out = out;
+            this.title = title;
+            this.header = header;
+            write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n"); // binary marker comment
+            object(FONT, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        }
+
+        void line(String text) throws IOException {
+            if (page.isEmpty()) {
+                page.add(title + "  (page " + (pageObjects.size() + 1) + ")");
+                page.add("");
+                page.add(header);
+            }
+            page.add(text);
+            if (page.size() >= LINES_PER_PAGE) flushPage();
+        }
+
+        void finish() throws IOException {
+            if (!page.isEmpty() || pageObjects.isEmpty()) {
+                if (page.isEmpty()) line("(no rows)");
+                flushPage();
+            }
+            StringBuilder kids = new StringBuilder();
+            for (int p : pageObjects) kids.append(p).append(" 0 R ");
+            object(PAGES, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>");
+            object(CATALOG, "<< /Type /Catalog /Pages " + PAGES + " 0 R >>");
+
+            long xref = written;
+            StringBuilder sb = new StringBuilder("xref\n0 ").append(nextObject).append("\n0000000000 65535 f \n");
+            for (int i = 1; i < nextObject; i++) sb.append(String.format("%010d 00000 n \n", offsets[i]));
+            sb.append("trailer\n<< /Size ").append(nextObject).append(" /Root ").append(CATALOG).append(" 0 R >>\n")
+                    .append("startxref\n").append(xref).append("\n%%EOF\n");
+            write(sb.toString());
+            out.flush();
+        }
+
+        private void flushPage() throws IOException {
+            StringBuilder content = new StringBuilder("BT\n/F1 ").append(FONT_SIZE).append(" Tf\n")
+                    .append(LEADING).append(" TL\n")
+                    .append(MARGIN).append(' ').append(PAGE_HEIGHT - MARGIN - FONT_SIZE).append(" Td\n");
+            for (String l : page) content.append('(').append(escape(l)).append(") Tj T*\n");
+            content.append("ET\n");
+            byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+            int contentObject = nextObject++;
+            int pageObject = nextObject++;
+            offset(contentObject);
+            write(contentObject + " 0 obj\n<< /Length " + stream.length + " >>\nstream\n");
+            bytes(stream);
+            write("\nendstream\nendobj\n");
+            object(pageObject, "<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] "
+                    + "/Resources << /Font << /F1 " + FONT + " 0 R >> >> /Contents " + contentObject + " 0 R >>");
+            pageObjects.add(pageObject);
+            page.clear();
+        }
+
+        private void object(int number, String body) throws IOException {
+            offset(number);
+            write(number + " 0 obj\n" + body + "\nendobj\n");
+        }
+
+        private void offset(int number) {
+            if (number >= offsets.length) offsets = Arrays.copyOf(offsets, Math.max(number + 1, offsets.length * 2));
+            offsets[number] = written;
+        }
+
+        private void write(String s) throws IOException {
+            bytes(s.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        private void bytes(byte[] b) throws IOException {
+            out.write(b);
+            written += b.length;
+        }
+
+        // Text outside Latin-1 has no glyph in the standard fonts and is written as '?'
+        private static String escape(String s) {
+            StringBuilder sb = new StringBuilder(s.length() + 8);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '(' || c == ')' || c == '\\') sb.append('\\').append(c);
+                else if (c < 32 || c > 255) sb.append('?');
+                else sb.append(c);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -41,19 +41,38 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**", "/actuator/health").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/inventory/stats").hasAnyRole("MAKER","CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/inventory/pending").hasAnyRole("CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/inventory/pending/page").hasAnyRole("CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/inventory/recent").hasAnyRole("MAKER","CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/inventory/recent/me").hasAnyRole("MAKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/inventory/me").hasAnyRole("MAKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/inventory/recent/page").hasAnyRole("MAKER","CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/inventory/me/page").hasAnyRole("MAKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/inventory/events").hasAnyRole("MAKER","CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/inventory/search").hasAnyRole("MAKER","CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/inventory/*").hasAnyRole("CHECKER","MANAGER")
                 // Invoices
                 .requestMatchers(HttpMethod.GET, "/api/invoices").hasAnyRole("MAKER","CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/invoices/aggregate").hasAnyRole("CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/invoices/export").hasAnyRole("CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/invoices/by-external/*").hasAnyRole("MAKER","CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/invoices/*").hasAnyRole("MAKER","CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.POST, "/api/invoices/reverse").hasAnyRole("CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.POST, "/api/inventory").hasAnyRole("MAKER","MANAGER")
+                .requestMatchers(HttpMethod.POST, "/api/inventory/batch").hasAnyRole("MAKER","MANAGER")
                 .requestMatchers(HttpMethod.POST, "/api/inventory/*/approve").hasAnyRole("CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.POST, "/api/inventory/*/reject").hasAnyRole("CHECKER","MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/stock/summary").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/stock/summary/drift").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/stock/as-of").hasAnyRole("MANAGER","ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/stock/warehouse").hasAnyRole("MANAGER","ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/stock/shelf").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/stock/transfer").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/stock/import").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/stock/export").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/lowstock/thresholds").hasAnyRole("CHECKER","MANAGER")
+                .requestMatchers(HttpMethod.PUT, "/api/lowstock/thresholds").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/api/lowstock/thresholds").hasAnyRole("MANAGER","ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/lowstock/stock").hasAnyRole("MANAGER","ADMIN")
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().permitAll()
             )
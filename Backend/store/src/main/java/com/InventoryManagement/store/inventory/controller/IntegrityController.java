@@ -0,0 +1,37 @@
+package com.InventoryManagement.store.inventory.controller;
+
+import com.InventoryManagement.store.inventory.dto.IntegrityReportDto;
+import com.InventoryManagement.store.inventory.entity.IntegrityScanRun;
+import com.InventoryManagement.store.inventory.service.PayloadIntegrityScanner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/inventory/integrity")
+public class IntegrityController {
+
+    private final PayloadIntegrityScanner scanner;
+
+    public IntegrityController(PayloadIntegrityScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    // Start a background re-hash of inventory_items
+    @PostMapping("/scan")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<Map<String, Object>> scan(Authentication auth) {
+        IntegrityScanRun run = scanner.start(auth != null ? auth.getName() : "system");
+        return ResponseEntity.accepted().body(Map.of("runId", run.getId(), "status", run.getStatus().name()));
+    }
+
+    // Latest run with the first rows of its drift report
+    @GetMapping("/report")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<IntegrityReportDto> report() {
+        return ResponseEntity.ok(scanner.latestReport());
+    }
+}
@@ -1,15 +1,29 @@
 // java
 package com.InventoryManagement.store.inventory.controller;
 
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.common.web.ChangeWatermark;
+import com.InventoryManagement.store.common.web.JsonStreams;
+import com.InventoryManagement.store.inventory.dto.BatchCreateResponse;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionRequest;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionResponse;
 import com.InventoryManagement.store.inventory.dto.CreateInventoryRequest;
+import com.InventoryManagement.store.inventory.dto.InventoryListRow;
 import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
 import com.InventoryManagement.store.inventory.dto.InventoryStatsDto;
+import com.InventoryManagement.store.inventory.service.InventoryEventHub;
 import com.InventoryManagement.store.inventory.service.InventoryService;
+import com.InventoryManagement.store.inventory.service.InventoryWatermark;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -19,36 +33,98 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService service;
+    private final InventoryEventHub eventHub;
+    private final InventoryWatermark watermark;
+    private final ObjectMapper mapper;
 
-    public InventoryController(InventoryService service) {
+    // Listings and single items answer If-None-Match with 304 before any query or mapping; see ChangeWatermark
+    public InventoryController(InventoryService service, InventoryEventHub eventHub, InventoryWatermark watermark,
+                               ObjectMapper mapper) {
         this.service = service;
+        this.eventHub = eventHub;
+        this.watermark = watermark;
+        this.mapper = mapper;
+    }
+
+    // Server-Sent Events stream of create/approve/reject; makers only receive their own items
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
+    public SseEmitter events(Authentication auth) {
+        return eventHub.subscribe(auth);
     }
 
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
-    public ResponseEntity<List<InventoryResponse>> listPending() {
-        return ResponseEntity.ok(service.listPending());
+    public ResponseEntity<List<InventoryResponse>> listPending(WebRequest request) {
+        return ChangeWatermark.conditional(request, watermark.etag(), service::listPending);
+    }
+
+    // Pending queue in pages, newest first
+    @GetMapping("/pending/page")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<CursorPage<InventoryResponse>> pagePending(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request) {
+        return ChangeWatermark.conditional(request, watermark.etag(), () -> service.pagePending(cursor, limit));
     }
 
     @GetMapping("/recent")
     @PreAuthorize("hasAnyRole('CHECKER','MANAGER','MAKER')")
-    public ResponseEntity<List<InventoryResponse>> listRecent() {
-        return ResponseEntity.ok(service.listRecent());
+    public ResponseEntity<List<InventoryListRow>> listRecent(WebRequest request) {
+        return ChangeWatermark.conditional(request, watermark.etag(), service::listRecent);
     }
 
     @GetMapping("/recent/me")
     @PreAuthorize("hasAnyRole('MAKER','MANAGER')")
-    public ResponseEntity<List<InventoryResponse>> listRecentForCurrent(Authentication auth) {
+    public ResponseEntity<List<InventoryListRow>> listRecentForCurrent(Authentication auth, WebRequest request) {
         String user = auth != null ? auth.getName() : null;
-        return ResponseEntity.ok(service.listRecentByUser(user));
+        return ChangeWatermark.conditional(request, watermark.etag(user), () -> service.listRecentByUser(user));
     }
 
     // New: full list for current user (no limit)
     @GetMapping("/me")
     @PreAuthorize("hasAnyRole('MAKER','MANAGER')")
-    public ResponseEntity<List<InventoryResponse>> listAllForCurrent(Authentication auth) {
+    public ResponseEntity<List<InventoryListRow>> listAllForCurrent(Authentication auth, WebRequest request) {
+        String user = auth != null ? auth.getName() : null;
+        return ChangeWatermark.conditional(request, watermark.etag(user), () -> service.listAllByUser(user));
+    }
+
+    // Same list written row by row from a database cursor: /me?stream=true
+    @GetMapping(value = "/me", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('MAKER','MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamAllForCurrent(Authentication auth) {
+        String user = auth != null ? auth.getName() : null;
+        return ResponseEntity.ok(JsonStreams.<InventoryListRow>array(mapper, sink -> service.streamAllByUser(user, sink)));
+    }
+
+    // Keyset-paged variants: pass back nextCursor from the previous page to continue
+    @GetMapping("/recent/page")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER','MAKER')")
+    public ResponseEntity<CursorPage<InventoryListRow>> pageRecent(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request) {
+        return ChangeWatermark.conditional(request, watermark.etag(), () -> service.pageRecent(cursor, limit));
+    }
+
+    @GetMapping("/me/page")
+    @PreAuthorize("hasAnyRole('MAKER','MANAGER')")
+    public ResponseEntity<CursorPage<InventoryListRow>> pageForCurrent(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            Authentication auth, WebRequest request) {
         String user = auth != null ? auth.getName() : null;
-        return ResponseEntity.ok(service.listAllByUser(user));
+        return ChangeWatermark.conditional(request, watermark.etag(user), () -> service.pageByUser(user, cursor, limit));
+    }
+
+    // Typeahead over sku, name, category and location: /search?q=red sh
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER','MAKER')")
+    public ResponseEntity<List<InventorySearchHit>> search(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(service.search(q, limit));
     }
 
     @GetMapping("/stats")
@@ -59,8 +135,10 @@ public class InventoryController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
-    public ResponseEntity<InventoryResponse> get(@PathVariable long id) {
-        return ResponseEntity.ok(service.get(id));
+    public ResponseEntity<InventoryResponse> get(@PathVariable long id, WebRequest request) {
+        Long version = service.versionOf(id);
+        String etag = version == null ? null : ChangeWatermark.entityTag("inventory", id, version);
+        return ChangeWatermark.conditional(request, etag, () -> service.get(id));
     }
 
     // Create a pending inventory item
@@ -72,6 +150,14 @@ public class InventoryController {
         return ResponseEntity.created(URI.create("/api/inventory/" + res.getId())).body(res);
     }
 
+    // Create many pending items in one request; each row gets its own outcome
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('MAKER','MANAGER')")
+    public ResponseEntity<BatchCreateResponse> createBatch(@RequestBody List<CreateInventoryRequest> reqs,
+                                                           Authentication auth) {
+        return ResponseEntity.ok(service.createPendingBatch(reqs, auth != null ? auth.getName() : "system"));
+    }
+
     // Approve a pending item
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
@@ -86,9 +172,31 @@ public class InventoryController {
         return ResponseEntity.ok(service.reject(id, auth != null ? auth.getName() : "system"));
     }
 
+    // Approve many pending items; response lists which ids changed and which conflicted
+    @PostMapping("/bulk/approve")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<BulkDecisionResponse> approveBulk(@RequestBody BulkDecisionRequest req, Authentication auth) {
+        return ResponseEntity.ok(service.approveBulk(req, auth != null ? auth.getName() : "system"));
+    }
+
+    // Reject many pending items
+    @PostMapping("/bulk/reject")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<BulkDecisionResponse> rejectBulk(@RequestBody BulkDecisionRequest req, Authentication auth) {
+        return ResponseEntity.ok(service.rejectBulk(req, auth != null ? auth.getName() : "system"));
+    }
+
+    // Items below their configured threshold (per SKU, per category or app.lowstock.default-threshold),
+    // served from memory; ?threshold=N applies one threshold to everything and reads the database
     @GetMapping(value = "/lowstock", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
-    public ResponseEntity<List<InventoryResponse>> listLowStock(@RequestParam(name = "threshold", required = false) Integer threshold) {
+    public ResponseEntity<List<InventoryListRow>> listLowStock(@RequestParam(name = "threshold", required = false) Integer threshold) {
         return ResponseEntity.ok(service.listLowStock(threshold));
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/lowstock", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamLowStock(@RequestParam(name = "threshold", required = false) Integer threshold) {
+        return ResponseEntity.ok(JsonStreams.<InventoryListRow>array(mapper, sink -> service.streamLowStock(threshold, sink)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.InventoryManagement.store.inventory.dto;
+
+public class BatchItemResult {
+    public enum Outcome { CREATED, INVALID, DUPLICATE, CONFLICT }
+
+    private int index;        // position in the submitted array
+    private String sku;
+    private Long id;          // set when CREATED
+    private Outcome outcome;
+    private String error;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, String sku) {
+        this.index = index;
+        this.sku = sku;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
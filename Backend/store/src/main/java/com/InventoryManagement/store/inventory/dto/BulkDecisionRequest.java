@@ -0,0 +1,16 @@
+package com.InventoryManagement.store.inventory.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BulkDecisionRequest {
+    private List<Long> ids;
+    // Optional: id -> version the checker saw; rows whose version moved on are reported as conflicts
+    private Map<Long, Long> versions;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Map<Long, Long> getVersions() { return versions; }
+    public void setVersions(Map<Long, Long> versions) { this.versions = versions; }
+}
@@ -0,0 +1,26 @@
+package com.InventoryManagement.store.inventory.dto;
+
+import java.util.List;
+
+public class BulkDecisionResponse {
+    private String status;          // APPROVED or REJECTED
+    private List<Long> updated;     // rows this request moved out of PENDING
+    private List<Long> conflicted;  // missing, no longer pending, or version mismatch
+
+    public BulkDecisionResponse() {}
+
+    public BulkDecisionResponse(String status, List<Long> updated, List<Long> conflicted) {
+        this.status = status;
+        this.updated = updated;
+        this.conflicted = conflicted;
+    }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<Long> getUpdated() { return updated; }
+    public void setUpdated(List<Long> updated) { this.updated = updated; }
+
+    public List<Long> getConflicted() { return conflicted; }
+    public void setConflicted(List<Long> conflicted) { this.conflicted = conflicted; }
+}
@@ -0,0 +1,24 @@
+package com.InventoryManagement.store.inventory.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class IntegrityReportDto {
+    public Long runId;
+    public String status;
+    public String triggeredBy;
+    public Instant startedAt;
+    public Instant finishedAt;
+    public long rowsScanned;
+    public long mismatches;
+    public String error;
+    public List<Drift> drifts; // first rows of the drift report, ordered by item id
+
+    public static class Drift {
+        public Long itemId;
+        public String sku;
+        public String kind;
+        public String storedHash;
+        public String computedHash;
+    }
+}
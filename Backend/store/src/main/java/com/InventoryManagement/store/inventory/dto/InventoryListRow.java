@@ -0,0 +1,57 @@
+package com.InventoryManagement.store.inventory.dto;
+
+import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Listing projection: the columns list views show, without description or payloadHash.
+// Built by JPQL constructor expressions in InventoryItemRepository, never a managed entity.
+public class InventoryListRow {
+    private final Long id;
+    private final String sku;
+    private final String name;
+    private final Integer quantity;
+    private final BigDecimal unitPrice;
+    private final String category;
+    private final String location;
+    private final String status;
+    private final String createdBy;
+    private final Instant createdAt;
+    private final Long version;
+
+    public InventoryListRow(Long id, String sku, String name, Integer quantity, BigDecimal unitPrice,
+                            String category, String location, InventoryStatus status,
+                            String createdBy, Instant createdAt, Long version) {
+        this.id = id;
+        this.sku = sku;
+        this.name = name;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.category = category;
+        this.location = location;
+        this.status = status == null ? null : status.name();
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    // Same row built from an event payload (see LowStockMonitor)
+    public static InventoryListRow from(InventoryResponse r) {
+        return new InventoryListRow(r.getId(), r.getSku(), r.getName(), r.getQuantity(), r.getUnitPrice(),
+                r.getCategory(), r.getLocation(), r.getStatus() == null ? null : InventoryStatus.valueOf(r.getStatus()),
+                r.getCreatedBy(), r.getCreatedAt(), r.getVersion());
+    }
+
+    public Long getId() { return id; }
+    public String getSku() { return sku; }
+    public String getName() { return name; }
+    public Integer getQuantity() { return quantity; }
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+    public String getStatus() { return status; }
+    public String getCreatedBy() { return createdBy; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
+}
@@ -1,5 +1,7 @@
 package com.InventoryManagement.store.inventory.dto;
 
+import com.InventoryManagement.store.inventory.entity.InventoryItem;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 
@@ -15,6 +17,26 @@ public class InventoryResponse {
     private String status;
     private String createdBy;
     private Instant createdAt;
+    private Instant approvedAt;
+    private Long version;
+
+    public static InventoryResponse from(InventoryItem i) {
+        InventoryResponse r = new InventoryResponse();
+        r.setId(i.getId());
+        r.setSku(i.getSku());
+        r.setName(i.getName());
+        r.setQuantity(i.getQuantity());
+        r.setUnitPrice(i.getUnitPrice());
+        r.setDescription(i.getDescription());
+        r.setCategory(i.getCategory());
+        r.setLocation(i.getLocation());
+        r.setStatus(i.getStatus().name());
+        r.setCreatedBy(i.getCreatedBy());
+        r.setCreatedAt(i.getCreatedAt());
+        r.setApprovedAt(i.getApprovedAt());
+        r.setVersion(i.getVersion());
+        return r;
+    }
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -48,5 +70,11 @@ public class InventoryResponse {
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(Instant approvedAt) { this.approvedAt = approvedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
 
@@ -0,0 +1,46 @@
+package com.InventoryManagement.store.inventory.dto;
+
+import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+
+// One typeahead result; also the document kept per item by InventorySearchIndex
+public class InventorySearchHit {
+    private final Long id;
+    private final String sku;
+    private final String name;
+    private final String category;
+    private final String location;
+    private final String status;
+    private final Integer quantity;
+    private final Long version;
+
+    public InventorySearchHit(Long id, String sku, String name, String category, String location,
+                              InventoryStatus status, Integer quantity, Long version) {
+        this(id, sku, name, category, location, status == null ? null : status.name(), quantity, version);
+    }
+
+    public InventorySearchHit(Long id, String sku, String name, String category, String location,
+                              String status, Integer quantity, Long version) {
+        this.id = id;
+        this.sku = sku;
+        this.name = name;
+        this.category = category;
+        this.location = location;
+        this.status = status;
+        this.quantity = quantity;
+        this.version = version;
+    }
+
+    public static InventorySearchHit from(InventoryResponse r) {
+        return new InventorySearchHit(r.getId(), r.getSku(), r.getName(), r.getCategory(), r.getLocation(),
+                r.getStatus(), r.getQuantity(), r.getVersion());
+    }
+
+    public Long getId() { return id; }
+    public String getSku() { return sku; }
+    public String getName() { return name; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+    public String getStatus() { return status; }
+    public Integer getQuantity() { return quantity; }
+    public Long getVersion() { return version; }
+}
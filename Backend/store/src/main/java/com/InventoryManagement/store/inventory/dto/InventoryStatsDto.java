@@ -14,6 +14,7 @@ public class InventoryStatsDto {
     private long lowStock;
     private long damaged;
     private List<TrendPoint> lowStockTrend;
+    private int lowStockTrendThreshold; // quantity below which the trend counts an item
     private long nearExpiring;
 
     public static class TrendPoint {
@@ -44,6 +45,8 @@ public class InventoryStatsDto {
     public void setDamaged(long damaged) { this.damaged = damaged; }
     public List<TrendPoint> getLowStockTrend() { return lowStockTrend; }
     public void setLowStockTrend(List<TrendPoint> lowStockTrend) { this.lowStockTrend = lowStockTrend; }
+    public int getLowStockTrendThreshold() { return lowStockTrendThreshold; }
+    public void setLowStockTrendThreshold(int lowStockTrendThreshold) { this.lowStockTrendThreshold = lowStockTrendThreshold; }
     public long getNearExpiring() { return nearExpiring; }
     public void setNearExpiring(long nearExpiring) { this.nearExpiring = nearExpiring; }
 }
@@ -0,0 +1,61 @@
+package com.InventoryManagement.store.inventory.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// One pass of the payload-hash verification job
+@Entity
+@Table(name = "integrity_scan_runs")
+public class IntegrityScanRun {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(length = 100)
+    private String triggeredBy;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Column(nullable = false)
+    private long rowsScanned;
+
+    @Column(nullable = false)
+    private long mismatches;
+
+    @Column(length = 500)
+    private String error;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getTriggeredBy() { return triggeredBy; }
+    public void setTriggeredBy(String triggeredBy) { this.triggeredBy = triggeredBy; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public long getRowsScanned() { return rowsScanned; }
+    public void setRowsScanned(long rowsScanned) { this.rowsScanned = rowsScanned; }
+
+    public long getMismatches() { return mismatches; }
+    public void setMismatches(long mismatches) { this.mismatches = mismatches; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
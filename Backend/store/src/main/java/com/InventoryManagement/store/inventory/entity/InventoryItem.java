@@ -7,7 +7,11 @@ import com.InventoryManagement.store.inventory.entity.InventoryStatus;
 
 @Entity
 @Table(name = "inventory_items", indexes = {
-        @Index(name = "ux_inventory_sku", columnList = "sku", unique = true)
+        @Index(name = "ux_inventory_sku", columnList = "sku", unique = true),
+        // Keyset pagination on (created_at, id), optionally narrowed by owner or status
+        @Index(name = "ix_inventory_created_at_id", columnList = "created_at, id"),
+        @Index(name = "ix_inventory_created_by_created_at_id", columnList = "created_by, created_at, id"),
+        @Index(name = "ix_inventory_status_created_at_id", columnList = "status, created_at, id")
 })
 public class InventoryItem {
 
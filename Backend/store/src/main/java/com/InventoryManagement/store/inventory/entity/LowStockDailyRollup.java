@@ -0,0 +1,37 @@
+package com.InventoryManagement.store.inventory.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Per-day count of submissions created below a low-stock threshold; filled by LowStockTrendRollup
+@Entity
+@Table(name = "inventory_low_stock_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_low_stock_daily_threshold_day", columnNames = {"threshold", "day"})
+})
+public class LowStockDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private int threshold;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+}
@@ -0,0 +1,66 @@
+package com.InventoryManagement.store.inventory.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// A row whose stored payloadHash did not match its current columns during a scan run.
+// Rows are written by PayloadIntegrityScanner through JDBC batches.
+@Entity
+@Table(name = "payload_drift", indexes = {
+        @Index(name = "ix_payload_drift_run_item", columnList = "run_id, item_id")
+})
+public class PayloadDrift {
+
+    // PRICE_FORMAT: only the unit price rendering differs (e.g. "12.5" hashed, "12.50" stored)
+    public enum Kind { CONTENT, PRICE_FORMAT }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(length = 100)
+    private String sku;
+
+    @Column(length = 64)
+    private String storedHash;
+
+    @Column(nullable = false, length = 64)
+    private String computedHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private Instant detectedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public String getStoredHash() { return storedHash; }
+    public void setStoredHash(String storedHash) { this.storedHash = storedHash; }
+
+    public String getComputedHash() { return computedHash; }
+    public void setComputedHash(String computedHash) { this.computedHash = computedHash; }
+
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+
+    public Instant getDetectedAt() { return detectedAt; }
+    public void setDetectedAt(Instant detectedAt) { this.detectedAt = detectedAt; }
+}
@@ -0,0 +1,29 @@
+package com.InventoryManagement.store.inventory.entity;
+
+import jakarta.persistence.*;
+
+// Highest inventory_items.id already folded into a rollup
+@Entity
+@Table(name = "rollup_watermarks")
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    public RollupWatermark() {}
+
+    public RollupWatermark(String name, long lastId) {
+        this.name = name;
+        this.lastId = lastId;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+}
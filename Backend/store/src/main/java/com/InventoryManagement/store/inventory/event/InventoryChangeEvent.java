@@ -0,0 +1,23 @@
+package com.InventoryManagement.store.inventory.event;
+
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+
+import java.util.List;
+
+// Published by InventoryServiceImpl inside the writing transaction. In-memory projections
+// listen with @TransactionalEventListener(AFTER_COMMIT) so they only ever see committed rows.
+public class InventoryChangeEvent {
+
+    public enum Kind { CREATED, APPROVED, REJECTED }
+
+    private final Kind kind;
+    private final List<InventoryResponse> items; // rows in their post-change state
+
+    public InventoryChangeEvent(Kind kind, List<InventoryResponse> items) {
+        this.kind = kind;
+        this.items = items;
+    }
+
+    public Kind getKind() { return kind; }
+    public List<InventoryResponse> getItems() { return items; }
+}
@@ -0,0 +1,10 @@
+package com.InventoryManagement.store.inventory.repository;
+
+import com.InventoryManagement.store.inventory.entity.IntegrityScanRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface IntegrityScanRunRepository extends JpaRepository<IntegrityScanRun, Long> {
+    Optional<IntegrityScanRun> findTopByOrderByIdDesc();
+}
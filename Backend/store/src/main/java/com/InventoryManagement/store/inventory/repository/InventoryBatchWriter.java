@@ -0,0 +1,122 @@
+package com.InventoryManagement.store.inventory.repository;
+
+import com.InventoryManagement.store.inventory.entity.InventoryItem;
+import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Plain JDBC insert path for bulk submissions. InventoryItem keeps IDENTITY ids (existing rows
+// were keyed by auto_increment), so Hibernate cannot batch; with rewriteBatchedStatements the
+// driver turns each chunk into one multi-row INSERT and returns the auto_increment keys.
+@Repository
+public class InventoryBatchWriter {
+
+    private static final String INSERT_SQL =
+            "insert into inventory_items (sku, name, quantity, unit_price, description, category, location, "
+                    + "status, created_by, created_at, payload_hash, version, damaged) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, false)";
+
+    // Guarded per row: only a still-pending row at the expected version (when one is given) moves
+    private static final String DECIDE_SQL =
+            "update inventory_items set status = ?, approved_by = ?, approved_at = ?, version = version + 1 "
+                    + "where id = ? and status = 'PENDING' and (? is null or version = ?)";
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    public InventoryBatchWriter(JdbcTemplate jdbc,
+                                @Value("${app.inventory.batch.jdbc-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Inserts the items in chunks of batchSize and writes the generated ids back onto them
+    public void insertAll(List<InventoryItem> items) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<InventoryItem> chunk = items.subList(from, Math.min(items.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new ChunkSetter(chunk),
+                    keys);
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int i = 0; i < chunk.size() && i < generated.size(); i++) {
+                Object key = generated.get(i).values().iterator().next();
+                chunk.get(i).setId(((Number) key).longValue());
+                chunk.get(i).setVersion(0L);
+            }
+        }
+    }
+
+    // Decides pending rows with one guarded UPDATE each, sent as a single batch without locking
+    // reads first. ids should be in ascending order so concurrent calls lock rows in the same
+    // order. Returns the update count per id: 1 decided, 0 no longer pending or version moved on.
+    public int[] decidePending(List<Long> ids, Map<Long, Long> expectedVersions, InventoryStatus to,
+                               String decidedBy, Instant decidedAt) {
+        Timestamp at = Timestamp.from(decidedAt);
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        return jdbc.batchUpdate(DECIDE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                long id = ids.get(i);
+                Long version = expectedVersions.get(id);
+                ps.setString(1, to.name());
+                ps.setString(2, decidedBy);
+                ps.setTimestamp(3, at, utc);
+                ps.setLong(4, id);
+                if (version == null) {
+                    ps.setNull(5, Types.BIGINT);
+                    ps.setNull(6, Types.BIGINT);
+                } else {
+                    ps.setLong(5, version);
+                    ps.setLong(6, version);
+                }
+            }
+
+            @Override
+            public int getBatchSize() { return ids.size(); }
+        });
+    }
+
+    private static final class ChunkSetter implements BatchPreparedStatementSetter {
+        private final List<InventoryItem> chunk;
+        // Same UTC normalisation Hibernate applies when binding Instant columns
+        private final Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        ChunkSetter(List<InventoryItem> chunk) { this.chunk = chunk; }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            InventoryItem item = chunk.get(i);
+            ps.setString(1, item.getSku());
+            ps.setString(2, item.getName());
+            ps.setInt(3, item.getQuantity());
+            ps.setBigDecimal(4, item.getUnitPrice());
+            ps.setString(5, item.getDescription());
+            ps.setString(6, item.getCategory());
+            ps.setString(7, item.getLocation());
+            ps.setString(8, item.getStatus().name());
+            ps.setString(9, item.getCreatedBy());
+            ps.setTimestamp(10, Timestamp.from(item.getCreatedAt()), utc);
+            ps.setString(11, item.getPayloadHash());
+        }
+
+        @Override
+        public int getBatchSize() { return chunk.size(); }
+    }
+}
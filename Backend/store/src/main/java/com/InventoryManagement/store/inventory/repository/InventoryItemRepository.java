@@ -1,31 +1,96 @@
 package com.InventoryManagement.store.inventory.repository;
 
+import com.InventoryManagement.store.inventory.dto.InventoryListRow;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
 import com.InventoryManagement.store.inventory.entity.InventoryItem;
 import com.InventoryManagement.store.inventory.entity.InventoryStatus;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
     boolean existsBySku(String sku);
-    List<InventoryItem> findByStatus(InventoryStatus status);
-
-    // Fallback for legacy rows where status might be stored in different casing
-    @Query(value = "select * from inventory_items where upper(status) = 'PENDING'", nativeQuery = true)
-    List<InventoryItem> findPendingNativeUpper();
 
-    // Recent submissions (global)
-    List<InventoryItem> findTop20ByOrderByCreatedAtDesc();
-
-    // Recent submissions by user
-    List<InventoryItem> findTop20ByCreatedByOrderByCreatedAtDesc(String createdBy);
+    // Set-based conflict check for bulk submissions
+    @Query("select i.sku from InventoryItem i where i.sku in ?1")
+    List<String> findExistingSkus(Collection<String> skus);
+    List<InventoryItem> findByStatus(InventoryStatus status);
 
-    // All submissions by user (no limit)
-    List<InventoryItem> findByCreatedByOrderByCreatedAtDesc(String createdBy);
+    // ETag check for GET /api/inventory/{id}: the version alone, no entity materialised
+    @Query("select i.version from InventoryItem i where i.id = ?1")
+    Optional<Long> findVersionById(long id);
+
+    // One-off fix for legacy rows whose status was stored in mixed case ('pending', 'Approved')
+    @Modifying
+    @Query(value = "update inventory_items set status = upper(trim(status)) " +
+            "where cast(status as binary) <> cast(upper(trim(status)) as binary)", nativeQuery = true)
+    int normalizeStatusCase();
+
+    // List views select only the columns they show (no description/payloadHash, no managed entities)
+    String LIST_ROW = "select new com.InventoryManagement.store.inventory.dto.InventoryListRow(" +
+            "i.id, i.sku, i.name, i.quantity, i.unitPrice, i.category, i.location, i.status, " +
+            "i.createdBy, i.createdAt, i.version) from InventoryItem i ";
+
+    // MySQL Connector/J only streams row by row with this fetch size; otherwise it buffers the result
+    String STREAM_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    // Recent submissions (global / by user); pass PageRequest.of(0, n) or Pageable.unpaged()
+    @Query(LIST_ROW + "order by i.createdAt desc, i.id desc")
+    List<InventoryListRow> listRows(Pageable limit);
+
+    @Query(LIST_ROW + "where i.createdAt < ?1 or (i.createdAt = ?1 and i.id < ?2) order by i.createdAt desc, i.id desc")
+    List<InventoryListRow> listRowsAfter(Instant createdAt, long id, Pageable limit);
+
+    @Query(LIST_ROW + "where i.createdBy = ?1 order by i.createdAt desc, i.id desc")
+    List<InventoryListRow> listRowsByCreatedBy(String createdBy, Pageable limit);
+
+    @Query(LIST_ROW + "where i.createdBy = ?1 and (i.createdAt < ?2 or (i.createdAt = ?2 and i.id < ?3)) " +
+            "order by i.createdAt desc, i.id desc")
+    List<InventoryListRow> listRowsByCreatedByAfter(String createdBy, Instant createdAt, long id, Pageable limit);
+
+    @Query(LIST_ROW + "where i.quantity < ?1 order by i.quantity asc, i.id asc")
+    List<InventoryListRow> listLowStockRows(int threshold);
+
+    // Cursor-backed variants for streamed responses; consume inside a read-only transaction and close
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(LIST_ROW + "where i.createdBy = ?1 order by i.createdAt desc, i.id desc")
+    Stream<InventoryListRow> streamRowsByCreatedBy(String createdBy);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(LIST_ROW + "where i.quantity < ?1 order by i.quantity asc, i.id asc")
+    Stream<InventoryListRow> streamLowStockRows(int threshold);
+
+    // Search index: startup load in id order, and the SKU-prefix fallback used until it is ready
+    @Query("select new com.InventoryManagement.store.inventory.dto.InventorySearchHit(" +
+            "i.id, i.sku, i.name, i.category, i.location, i.status, i.quantity, i.version) " +
+            "from InventoryItem i where i.id > ?1 order by i.id")
+    List<InventorySearchHit> searchDocsAfter(long id, Pageable limit);
+
+    @Query("select new com.InventoryManagement.store.inventory.dto.InventorySearchHit(" +
+            "i.id, i.sku, i.name, i.category, i.location, i.status, i.quantity, i.version) " +
+            "from InventoryItem i where i.sku like ?1 escape '!' order by i.sku")
+    List<InventorySearchHit> searchBySkuPrefix(String pattern, Pageable limit);
+
+    // Keyset pages on (createdAt, id) desc; the *After variants continue from a cursor.
+    // Pass PageRequest.of(0, limit + 1) as the limit, no count query is issued.
+    @Query("select i from InventoryItem i where i.status = ?1 order by i.createdAt desc, i.id desc")
+    List<InventoryItem> pageByStatus(InventoryStatus status, Pageable limit);
+
+    @Query("select i from InventoryItem i where i.status = ?1 and (i.createdAt < ?2 or (i.createdAt = ?2 and i.id < ?3)) " +
+            "order by i.createdAt desc, i.id desc")
+    List<InventoryItem> pageByStatusAfter(InventoryStatus status, Instant createdAt, long id, Pageable limit);
     long countByStatus(InventoryStatus status);
 
     interface CategoryAggregate {
@@ -36,10 +101,6 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     @Query("select i.category as category, sum(i.quantity) as total from InventoryItem i group by i.category")
     List<CategoryAggregate> aggregateByCategory();
 
-    // Paging for invoice synthesis
-    Page<InventoryItem> findAllByOrderByCreatedAtDesc(Pageable pageable);
-    Page<InventoryItem> findByStatusOrderByCreatedAtDesc(InventoryStatus status, Pageable pageable);
-
     // New analytics
     @Query("select count(i) from InventoryItem i where i.expiryAt is not null and i.expiryAt < ?1")
     long countExpiredBefore(Instant now);
@@ -47,14 +108,19 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     @Query("select count(i) from InventoryItem i where i.damaged = true")
     long countDamaged();
 
-    @Query("select count(i) from InventoryItem i where i.quantity < ?1")
-    long countLowStock(int threshold);
+    // Rollup bounds: the end of the primary key, then the newest rows below it walked back by id.
+    // Both read the primary key only, so cost follows the recent rows, not all history.
+    @Query("select max(i.id) from InventoryItem i")
+    Long maxId();
+
+    @Query("select i.id as id, i.createdAt as createdAt from InventoryItem i where i.id > ?1 and i.id <= ?2 order by i.id desc")
+    List<IdCreatedAt> newestIdsBetween(long afterId, long atMostId, Pageable limit);
 
-    @Query("select function('date', i.createdAt) as day, count(i) as cnt from InventoryItem i where i.quantity < ?1 group by function('date', i.createdAt) order by function('date', i.createdAt)")
-    List<Object[]> lowStockTrend(int threshold, Pageable pageable);
+    interface IdCreatedAt {
+        Long getId();
+        Instant getCreatedAt();
+    }
 
     @Query("select count(i) from InventoryItem i where i.expiryAt is not null and i.expiryAt >= ?1 and i.expiryAt < ?2")
     long countExpiringBetween(Instant from, Instant to);
-
-    List<InventoryItem> findByQuantityLessThanOrderByQuantityAsc(int threshold);
 }
@@ -0,0 +1,23 @@
+package com.InventoryManagement.store.inventory.repository;
+
+import com.InventoryManagement.store.inventory.entity.LowStockDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface LowStockDailyRollupRepository extends JpaRepository<LowStockDailyRollup, Long> {
+
+    // Newest 30 days for a threshold, served by uk_low_stock_daily_threshold_day
+    List<LowStockDailyRollup> findTop30ByThresholdOrderByDayDesc(int threshold);
+
+    // Fold the id range (fromId, toId] into the per-day counts; the range scan uses the primary key
+    @Modifying
+    @Query(value = "insert into inventory_low_stock_daily (threshold, day, item_count) " +
+            "select t.th, t.d, t.c from (" +
+            "  select ?1 as th, date(created_at) as d, count(*) as c from inventory_items " +
+            "  where id > ?2 and id <= ?3 and quantity < ?1 group by date(created_at)" +
+            ") as t on duplicate key update item_count = item_count + t.c", nativeQuery = true)
+    int accumulate(int threshold, long fromId, long toId);
+}
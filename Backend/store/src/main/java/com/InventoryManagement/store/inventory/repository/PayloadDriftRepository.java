@@ -0,0 +1,11 @@
+package com.InventoryManagement.store.inventory.repository;
+
+import com.InventoryManagement.store.inventory.entity.PayloadDrift;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PayloadDriftRepository extends JpaRepository<PayloadDrift, Long> {
+    List<PayloadDrift> findByRunIdOrderByItemIdAsc(Long runId, Pageable pageable);
+}
@@ -0,0 +1,17 @@
+package com.InventoryManagement.store.inventory.repository;
+
+import com.InventoryManagement.store.inventory.entity.RollupWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+
+    // Serialises rollup runs (e.g. across instances) for one watermark
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from RollupWatermark w where w.name = ?1")
+    Optional<RollupWatermark> lockByName(String name);
+}
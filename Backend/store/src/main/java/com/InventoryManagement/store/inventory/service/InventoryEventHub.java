@@ -0,0 +1,279 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.lowstock.event.LowStockCrossingEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed create/approve/reject events (and low-stock crossings) to dashboards over Server-Sent Events.
+// Each subscriber is an async SseEmitter, so an idle connection holds no request thread.
+// One dispatcher thread serialises each event once and offers it to every subscriber's bounded
+// queue without blocking; a small sender pool drains the queues onto the sockets. A subscriber
+// whose queue fills, or whose socket write stalls past stall-ms, is disconnected (the browser's
+// EventSource reconnects), so one slow client cannot hold up the others or grow memory.
+@Component
+public class InventoryEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventHub.class);
+    private static final int DISPATCH_BACKLOG = 1000;
+
+    private final ObjectMapper mapper;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final int queueSize;
+    private final long stallMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger count = new AtomicInteger();
+    // Bounded: past DISPATCH_BACKLOG waiting fan-outs new events are dropped with a warning
+    private final ExecutorService dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(DISPATCH_BACKLOG), r -> {
+        Thread t = new Thread(r, "inventory-sse");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders;
+
+    public InventoryEventHub(ObjectMapper mapper,
+                             @Value("${app.inventory.events.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${app.inventory.events.max-subscribers:5000}") int maxSubscribers,
+                             @Value("${app.inventory.events.queue-size:64}") int queueSize,
+                             @Value("${app.inventory.events.senders:4}") int senders,
+                             @Value("${app.inventory.events.stall-ms:30000}") long stallMs) {
+        this.mapper = mapper;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.queueSize = Math.max(1, queueSize);
+        this.stallMs = stallMs;
+        AtomicInteger n = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senders), r -> {
+            Thread t = new Thread(r, "inventory-sse-send-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(Authentication auth) {
+        if (count.incrementAndGet() > maxSubscribers) {
+            count.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber sub = new Subscriber(emitter, auth != null ? auth.getName() : null, seesAll(auth), queueSize);
+        subscribers.add(sub);
+        emitter.onCompletion(() -> drop(sub));
+        emitter.onTimeout(() -> drop(sub));
+        emitter.onError(e -> drop(sub));
+        try {
+            emitter.send(SseEmitter.event().name("ready").data("{}"));
+        } catch (IOException e) {
+            drop(sub);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InventoryChangeEvent event) {
+        if (subscribers.isEmpty()) return;
+        dispatch(() -> fanOut(event));
+    }
+
+    // LowStockMonitor publishes crossings after commit already; only checkers and managers hear them
+    @EventListener
+    public void onLowStock(LowStockCrossingEvent event) {
+        if (subscribers.isEmpty()) return;
+        dispatch(() -> {
+            String payload;
+            try {
+                payload = mapper.writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialise low-stock event", e);
+                return;
+            }
+            for (Subscriber sub : subscribers) {
+                if (sub.seesAll) enqueue(sub, SseEmitter.event().name("lowstock").data(payload));
+            }
+        });
+    }
+
+    // Keeps proxies from closing idle streams and flushes out dead connections; a subscriber stuck
+    // in one socket write for longer than stall-ms is disconnected instead of pinged
+    @Scheduled(fixedDelayString = "${app.inventory.events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (Subscriber sub : subscribers) {
+            long since = sub.sendingSince;
+            if (since != 0 && now - since > stallMs) {
+                disconnect(sub, "write stalled for " + (now - since) + " ms");
+            } else {
+                enqueue(sub, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber sub : subscribers) sub.emitter.complete();
+    }
+
+    private void fanOut(InventoryChangeEvent event) {
+        String name = event.getKind().name().toLowerCase();
+        String all = null;
+        Map<String, String> perOwner = new HashMap<>();
+        Map<String, List<InventoryResponse>> byOwner = null;
+        for (Subscriber sub : subscribers) {
+            String payload;
+            if (sub.seesAll) {
+                if (all == null) all = toJson(event.getKind(), event.getItems());
+                payload = all;
+            } else {
+                // Makers only hear about their own submissions
+                if (byOwner == null) byOwner = groupByOwner(event.getItems());
+                List<InventoryResponse> own = byOwner.get(sub.username);
+                if (own == null) continue;
+                Map<String, List<InventoryResponse>> owners = byOwner;
+                payload = perOwner.computeIfAbsent(sub.username, u -> toJson(event.getKind(), owners.get(u)));
+            }
+            if (payload != null) enqueue(sub, SseEmitter.event().name(name).data(payload));
+        }
+    }
+
+    private void dispatch(Runnable fanOut) {
+        try {
+            dispatcher.execute(fanOut);
+        } catch (RejectedExecutionException e) {
+            log.warn("SSE dispatch backlog is full, dropping an event");
+        }
+    }
+
+    // Never blocks: a full queue means the client has fallen behind, so it is disconnected
+    private void enqueue(Subscriber sub, SseEmitter.SseEventBuilder event) {
+        if (!sub.queue.offer(event)) {
+            disconnect(sub, "fell " + queueSize + " events behind");
+            return;
+        }
+        if (sub.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(sub));
+            } catch (RejectedExecutionException e) {
+                sub.draining.set(false);
+            }
+        }
+    }
+
+    // At most one drain per subscriber at a time, so its events go out in order
+    private void drain(Subscriber sub) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = sub.queue.poll()) != null) {
+                if (!send(sub, event)) return;
+            }
+            sub.draining.set(false);
+            // An enqueue between the last poll and the reset may have skipped scheduling a drain
+            if (sub.queue.isEmpty() || !sub.draining.compareAndSet(false, true)) return;
+        }
+    }
+
+    private boolean send(Subscriber sub, SseEmitter.SseEventBuilder event) {
+        sub.sendingSince = System.currentTimeMillis();
+        try {
+            sub.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(sub);
+            sub.queue.clear();
+            sub.emitter.completeWithError(e);
+            return false;
+        } finally {
+            sub.sendingSince = 0;
+        }
+    }
+
+    private void disconnect(Subscriber sub, String why) {
+        if (!subscribers.contains(sub)) return;
+        log.info("Disconnecting SSE subscriber {}: {}", sub.username, why);
+        drop(sub);
+        sub.queue.clear();
+        sub.emitter.complete();
+    }
+
+    private void drop(Subscriber sub) {
+        if (subscribers.remove(sub)) count.decrementAndGet();
+    }
+
+    private String toJson(InventoryChangeEvent.Kind kind, List<InventoryResponse> items) {
+        try {
+            return mapper.writeValueAsString(Map.of("kind", kind.name(), "items", items));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialise inventory event", e);
+            return null;
+        }
+    }
+
+    private static Map<String, List<InventoryResponse>> groupByOwner(List<InventoryResponse> items) {
+        Map<String, List<InventoryResponse>> out = new HashMap<>();
+        for (InventoryResponse i : items) {
+            if (i.getCreatedBy() != null) out.computeIfAbsent(i.getCreatedBy(), k -> new ArrayList<>()).add(i);
+        }
+        return out;
+    }
+
+    private static boolean seesAll(Authentication auth) {
+        if (auth == null) return false;
+        for (GrantedAuthority a : auth.getAuthorities()) {
+            String role = a.getAuthority();
+            if ("ROLE_CHECKER".equals(role) || "ROLE_MANAGER".equals(role)) return true;
+        }
+        return false;
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final String username;
+        final boolean seesAll;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile long sendingSince; // 0 when no write is in progress
+
+        Subscriber(SseEmitter emitter, String username, boolean seesAll, int queueSize) {
+            this.emitter = emitter;
+            this.username = username;
+            this.seesAll = seesAll;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
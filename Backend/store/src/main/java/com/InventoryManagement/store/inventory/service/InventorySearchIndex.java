@@ -0,0 +1,254 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Typeahead index over sku, name, category and location. Each field is split into lowercase
+// alphanumeric terms and a sorted term dictionary maps every term to the ids that contain it, so a
+// query prefix is a short walk over the dictionary that stops as soon as enough hits are found.
+// Built once at startup and then kept current from committed InventoryChangeEvents.
+@Component
+public class InventorySearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySearchIndex.class);
+    private static final int LOAD_CHUNK = 5000;
+    private static final int MAX_TERM_LENGTH = 64;
+    // Bounds the ids examined per query so a one-letter prefix with extra filters stays cheap
+    private static final int MAX_CANDIDATES = 20_000;
+
+    private final InventoryItemRepository repo;
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public InventorySearchIndex(InventoryItemRepository repo) {
+        this.repo = repo;
+    }
+
+    public boolean isReady() { return ready; }
+
+    public int size() { return docs.size(); }
+
+    int termCount() { return terms.size(); }
+
+    // Every query token must prefix some term of the item; newest items first within a term
+    public List<InventorySearchHit> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) return List.of();
+        String driver = tokens[0];
+        for (String t : tokens) {
+            if (t.length() > driver.length()) driver = t;
+        }
+
+        List<InventorySearchHit> hits = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        int examined = 0;
+        for (Map.Entry<String, Postings> e : terms.tailMap(driver, true).entrySet()) {
+            if (!e.getKey().startsWith(driver)) break;
+            Block block = e.getValue().block;
+            for (int i = block.size - 1; i >= 0; i--) {
+                if (++examined > MAX_CANDIDATES) return hits;
+                long id = block.ids[i];
+                Doc doc = docs.get(id);
+                if (doc == null || !doc.matches(tokens) || !seen.add(id)) continue;
+                hits.add(doc.hit);
+                if (hits.size() >= limit) return hits;
+            }
+        }
+        return hits;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InventoryChangeEvent event) {
+        for (InventoryResponse item : event.getItems()) {
+            put(InventorySearchHit.from(item));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        long lastId = 0;
+        List<InventorySearchHit> chunk = repo.searchDocsAfter(lastId, PageRequest.of(0, LOAD_CHUNK));
+        while (!chunk.isEmpty()) {
+            for (InventorySearchHit hit : chunk) put(hit);
+            if (chunk.size() < LOAD_CHUNK) break;
+            lastId = chunk.get(chunk.size() - 1).getId();
+            chunk = repo.searchDocsAfter(lastId, PageRequest.of(0, LOAD_CHUNK));
+        }
+        ready = true;
+        log.info("Search index loaded {} items, {} terms in {} ms",
+                docs.size(), terms.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Events and the startup load may both deliver an item; the higher version wins
+    private void put(InventorySearchHit hit) {
+        Doc next = new Doc(hit, termsOf(hit));
+        Doc[] previous = new Doc[1];
+        Doc kept = docs.compute(hit.getId(), (id, old) -> {
+            if (old != null && isOlder(hit, old.hit)) return old;
+            previous[0] = old;
+            return next;
+        });
+        if (kept != next) return;
+        long id = hit.getId();
+        for (String term : next.terms) index(term, id);
+        if (previous[0] != null) {
+            for (String term : previous[0].terms) {
+                if (Arrays.binarySearch(next.terms, term) < 0) unindex(term, id);
+            }
+        }
+    }
+
+    private void index(String term, long id) {
+        while (true) {
+            Postings p = terms.computeIfAbsent(term, t -> new Postings());
+            if (p.add(id)) return;
+            terms.remove(term, p); // retired by a concurrent unindex; install a fresh one
+        }
+    }
+
+    // A term whose last id goes is dropped from the dictionary, so renamed items leave no
+    // empty entries behind for prefix walks to skip over
+    private void unindex(String term, long id) {
+        Postings p = terms.get(term);
+        if (p != null && p.remove(id)) terms.remove(term, p);
+    }
+
+    private static boolean isOlder(InventorySearchHit candidate, InventorySearchHit current) {
+        return candidate.getVersion() != null && current.getVersion() != null
+                && candidate.getVersion() < current.getVersion();
+    }
+
+    private static String[] termsOf(InventorySearchHit hit) {
+        Set<String> all = new TreeSet<>();
+        addTerms(all, hit.getSku());
+        addTerms(all, hit.getName());
+        addTerms(all, hit.getCategory());
+        addTerms(all, hit.getLocation());
+        return all.toArray(new String[0]);
+    }
+
+    static String[] tokenize(String text) {
+        Set<String> out = new TreeSet<>();
+        addTerms(out, text);
+        return out.toArray(new String[0]);
+    }
+
+    private static void addTerms(Set<String> out, String text) {
+        if (text == null) return;
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (term.length() < MAX_TERM_LENGTH) term.append(c);
+            } else if (term.length() > 0) {
+                out.add(term.toString());
+                term.setLength(0);
+            }
+        }
+    }
+
+    private static final class Doc {
+        final InventorySearchHit hit;
+        final String[] terms; // sorted
+
+        Doc(InventorySearchHit hit, String[] terms) {
+            this.hit = hit;
+            this.terms = terms;
+        }
+
+        boolean matches(String[] tokens) {
+            for (String token : tokens) {
+                boolean found = false;
+                for (String term : terms) {
+                    if (term.startsWith(token)) { found = true; break; }
+                }
+                if (!found) return false;
+            }
+            return true;
+        }
+    }
+
+    // Sorted ids for one term. Writers are serialised per term; readers take the current block
+    // without locking, and a block's first `size` slots are never modified after publication.
+    // Once emptied by remove() it is retired and refuses adds, so an id can never land in
+    // postings that are being taken out of the dictionary.
+    private static final class Postings {
+        volatile Block block = new Block(new long[2], 0);
+        private boolean retired;
+
+        // false when retired; the caller must add to a fresh instance
+        synchronized boolean add(long id) {
+            if (retired) return false;
+            Block b = block;
+            long[] ids = b.ids;
+            int n = b.size;
+            if (n > 0 && ids[n - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, n, id);
+                if (at >= 0) return true;
+                int ins = -at - 1;
+                long[] copy = new long[Math.max(ids.length, n + 1)];
+                System.arraycopy(ids, 0, copy, 0, ins);
+                copy[ins] = id;
+                System.arraycopy(ids, ins, copy, ins + 1, n - ins);
+                block = new Block(copy, n + 1);
+                return true;
+            }
+            // Ids mostly arrive in ascending order, so this append is the common path
+            if (n == ids.length) ids = Arrays.copyOf(ids, n + (n >> 1) + 1);
+            ids[n] = id;
+            block = new Block(ids, n + 1);
+            return true;
+        }
+
+        // true when this removed the last id and retired the postings
+        synchronized boolean remove(long id) {
+            Block b = block;
+            int at = Arrays.binarySearch(b.ids, 0, b.size, id);
+            if (at < 0) return false;
+            if (b.size == 1) {
+                block = new Block(new long[0], 0);
+                retired = true;
+                return true;
+            }
+            long[] copy = new long[b.ids.length];
+            System.arraycopy(b.ids, 0, copy, 0, at);
+            System.arraycopy(b.ids, at + 1, copy, at, b.size - at - 1);
+            block = new Block(copy, b.size - 1);
+            return false;
+        }
+    }
+
+    private static final class Block {
+        final long[] ids;
+        final int size;
+
+        Block(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+    }
+}
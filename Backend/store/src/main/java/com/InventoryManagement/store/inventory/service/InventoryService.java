@@ -1,20 +1,37 @@
 package com.InventoryManagement.store.inventory.service;
 
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.inventory.dto.BatchCreateResponse;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionRequest;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionResponse;
 import com.InventoryManagement.store.inventory.dto.CreateInventoryRequest;
+import com.InventoryManagement.store.inventory.dto.InventoryListRow;
 import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
 import com.InventoryManagement.store.inventory.dto.InventoryStatsDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface InventoryService {
     InventoryResponse createPending(CreateInventoryRequest req, String createdBy);
+    BatchCreateResponse createPendingBatch(List<CreateInventoryRequest> reqs, String createdBy);
     InventoryResponse approve(long id, String approvedBy);
     InventoryResponse reject(long id, String rejectedBy);
+    BulkDecisionResponse approveBulk(BulkDecisionRequest req, String approvedBy);
+    BulkDecisionResponse rejectBulk(BulkDecisionRequest req, String rejectedBy);
     List<InventoryResponse> listPending();
-    List<InventoryResponse> listRecent();
-    List<InventoryResponse> listRecentByUser(String createdBy);
-    List<InventoryResponse> listAllByUser(String createdBy);
+    CursorPage<InventoryResponse> pagePending(String cursor, Integer limit);
+    List<InventoryListRow> listRecent();
+    List<InventoryListRow> listRecentByUser(String createdBy);
+    List<InventoryListRow> listAllByUser(String createdBy);
+    void streamAllByUser(String createdBy, Consumer<InventoryListRow> sink);
+    CursorPage<InventoryListRow> pageRecent(String cursor, Integer limit);
+    CursorPage<InventoryListRow> pageByUser(String createdBy, String cursor, Integer limit);
+    List<InventorySearchHit> search(String q, Integer limit);
     InventoryResponse get(long id);
+    Long versionOf(long id);
     InventoryStatsDto stats();
-    List<InventoryResponse> listLowStock(Integer threshold);
+    List<InventoryListRow> listLowStock(Integer threshold);
+    void streamLowStock(Integer threshold, Consumer<InventoryListRow> sink);
 }
\ No newline at end of file
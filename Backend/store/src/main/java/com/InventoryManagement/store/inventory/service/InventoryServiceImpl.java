@@ -1,65 +1,179 @@
 package com.InventoryManagement.store.inventory.service;
 
+import com.InventoryManagement.store.common.paging.Cursor;
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.inventory.dto.BatchCreateResponse;
+import com.InventoryManagement.store.inventory.dto.BatchItemResult;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionRequest;
+import com.InventoryManagement.store.inventory.dto.BulkDecisionResponse;
 import com.InventoryManagement.store.inventory.dto.CreateInventoryRequest;
+import com.InventoryManagement.store.inventory.dto.InventoryListRow;
 import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
 import com.InventoryManagement.store.inventory.dto.InventoryStatsDto;
-import com.InventoryManagement.store.inventory.dto.CategorySliceDto;
 import com.InventoryManagement.store.inventory.entity.InventoryItem;
 import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryBatchWriter;
 import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import com.InventoryManagement.store.lowstock.service.LowStockMonitor;
+import com.InventoryManagement.store.lowstock.service.LowStockThresholds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
+import java.math.RoundingMode;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryServiceImpl implements InventoryService {
 
+    private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
+
+    // Upper bound for IN (...) lists sent to the database
+    private static final int LOOKUP_CHUNK = 1000;
+    // Bulk approve/reject take at most this many ids per call
+    private static final int MAX_BULK_IDS = 1000;
+    // Size of the /recent and /recent/me lists
+    private static final int RECENT_LIMIT = 20;
+    // Typeahead result size: default and cap
+    private static final int SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final InventoryItemRepository repo;
+    private final InventoryBatchWriter batchWriter;
+    private final InventoryStatsEngine statsEngine;
+    private final PendingQueue pendingQueue;
+    private final InventorySearchIndex searchIndex;
+    private final LowStockMonitor lowStock;
+    private final LowStockThresholds lowStockThresholds;
+    private final ApplicationEventPublisher events;
+    private final int maxBatchItems;
 
-    public InventoryServiceImpl(InventoryItemRepository repo) {
+    public InventoryServiceImpl(InventoryItemRepository repo,
+                                InventoryBatchWriter batchWriter,
+                                InventoryStatsEngine statsEngine,
+                                PendingQueue pendingQueue,
+                                InventorySearchIndex searchIndex,
+                                LowStockMonitor lowStock,
+                                LowStockThresholds lowStockThresholds,
+                                ApplicationEventPublisher events,
+                                @Value("${app.inventory.batch.max-items:10000}") int maxBatchItems) {
         this.repo = repo;
+        this.batchWriter = batchWriter;
+        this.statsEngine = statsEngine;
+        this.pendingQueue = pendingQueue;
+        this.searchIndex = searchIndex;
+        this.lowStock = lowStock;
+        this.lowStockThresholds = lowStockThresholds;
+        this.events = events;
+        this.maxBatchItems = maxBatchItems;
     }
 
     @Override
     @Transactional
     public InventoryResponse createPending(CreateInventoryRequest req, String createdBy) {
-        if (req == null || isBlank(req.getSku()) || isBlank(req.getName())
-                || req.getQuantity() == null || req.getUnitPrice() == null) {
+        if (!isComplete(req)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing required fields");
         }
         if (repo.existsBySku(req.getSku())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "SKU already exists");
         }
 
-        InventoryItem item = new InventoryItem();
-        item.setSku(req.getSku().trim());
-        item.setName(req.getName().trim());
-        item.setQuantity(req.getQuantity());
-        item.setUnitPrice(req.getUnitPrice());
-        item.setDescription(nullToEmpty(req.getDescription()));
-        item.setCategory(nullToEmpty(req.getCategory()));
-        item.setLocation(nullToEmpty(req.getLocation()));
-        item.setStatus(InventoryStatus.PENDING);
-        item.setCreatedBy(createdBy != null ? createdBy : "system");
-        item.setCreatedAt(Instant.now());
-        item.setPayloadHash(computePayloadHash(
-                item.getSku(), item.getName(), item.getQuantity(),
-                item.getUnitPrice().toPlainString(), item.getDescription(),
-                item.getCategory(), item.getLocation()
-        ));
-
+        InventoryItem item = newPendingItem(req, createdBy != null ? createdBy : "system", Instant.now());
         InventoryItem saved = repo.saveAndFlush(item);
-        return toResponse(saved);
+        InventoryResponse res = toResponse(saved);
+        events.publishEvent(new InventoryChangeEvent(InventoryChangeEvent.Kind.CREATED, List.of(res)));
+        return res;
+    }
+
+    @Override
+    @Transactional
+    public BatchCreateResponse createPendingBatch(List<CreateInventoryRequest> reqs, String createdBy) {
+        if (reqs == null || reqs.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No items supplied");
+        }
+        if (reqs.size() > maxBatchItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Batch exceeds " + maxBatchItems + " items");
+        }
+        String owner = createdBy != null ? createdBy : "system";
+        Instant now = Instant.now();
+
+        // Validate and drop in-batch repeats; SKUs compare case-insensitively like the unique index
+        List<BatchItemResult> results = new ArrayList<>(reqs.size());
+        Map<String, Integer> candidates = new HashMap<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            CreateInventoryRequest req = reqs.get(i);
+            BatchItemResult r = new BatchItemResult(i, req == null || req.getSku() == null ? null : req.getSku().trim());
+            results.add(r);
+            if (!isComplete(req)) {
+                r.setOutcome(BatchItemResult.Outcome.INVALID);
+                r.setError("Missing required fields");
+            } else if (candidates.putIfAbsent(skuKey(r.getSku()), i) != null) {
+                r.setOutcome(BatchItemResult.Outcome.DUPLICATE);
+                r.setError("SKU repeated in batch");
+            }
+        }
+
+        // One set-based lookup (chunked) instead of existsBySku per row
+        Set<String> existing = new HashSet<>();
+        List<String> keys = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < keys.size(); from += LOOKUP_CHUNK) {
+            for (String sku : repo.findExistingSkus(keys.subList(from, Math.min(keys.size(), from + LOOKUP_CHUNK)))) {
+                existing.add(skuKey(sku));
+            }
+        }
+
+        List<InventoryItem> toInsert = new ArrayList<>(candidates.size());
+        List<BatchItemResult> inserted = new ArrayList<>(candidates.size());
+        for (BatchItemResult r : results) {
+            if (r.getOutcome() != null) continue;
+            if (existing.contains(skuKey(r.getSku()))) {
+                r.setOutcome(BatchItemResult.Outcome.CONFLICT);
+                r.setError("SKU already exists");
+                continue;
+            }
+            toInsert.add(newPendingItem(reqs.get(r.getIndex()), owner, now));
+            inserted.add(r);
+        }
+
+        try {
+            batchWriter.insertAll(toInsert);
+        } catch (DuplicateKeyException e) {
+            // A concurrent submission took one of the SKUs after the lookup; nothing was kept
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "SKU conflict while inserting batch, retry", e);
+        }
+        List<InventoryResponse> created = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            inserted.get(i).setId(toInsert.get(i).getId());
+            inserted.get(i).setOutcome(BatchItemResult.Outcome.CREATED);
+            created.add(toResponse(toInsert.get(i)));
+        }
+        if (!created.isEmpty()) {
+            events.publishEvent(new InventoryChangeEvent(InventoryChangeEvent.Kind.CREATED, created));
+        }
+        return new BatchCreateResponse(results);
     }
 
     @Override
@@ -72,25 +186,16 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Item is not pending");
         }
 
-        String currentHash = computePayloadHash(
-                item.getSku(), item.getName(), item.getQuantity(),
-                item.getUnitPrice().toPlainString(), item.getDescription(),
-                item.getCategory(), item.getLocation()
-        );
-        String existingHash = item.getPayloadHash();
-        if (existingHash == null || existingHash.isBlank()) {
-            item.setPayloadHash(currentHash);
-        } else if (!currentHash.equals(existingHash)) {
-            // Soft heal: data differs from originally stored snapshot; rehash current persisted state and proceed
-            item.setPayloadHash(currentHash);
-        }
+        verifyPayload(item, "approval");
 
         item.setStatus(InventoryStatus.APPROVED);
         item.setApprovedBy(approvedBy != null ? approvedBy : "system");
         item.setApprovedAt(Instant.now());
 
         InventoryItem saved = repo.saveAndFlush(item);
-        return toResponse(saved);
+        InventoryResponse res = toResponse(saved);
+        events.publishEvent(new InventoryChangeEvent(InventoryChangeEvent.Kind.APPROVED, List.of(res)));
+        return res;
     }
 
     @Override
@@ -103,62 +208,161 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Item is not pending");
         }
 
-        String currentHash = computePayloadHash(
-                item.getSku(), item.getName(), item.getQuantity(),
-                item.getUnitPrice().toPlainString(), item.getDescription(),
-                item.getCategory(), item.getLocation()
-        );
-        String existingHash = item.getPayloadHash();
-        if (existingHash == null || existingHash.isBlank()) {
-            item.setPayloadHash(currentHash);
-        } else if (!currentHash.equals(existingHash)) {
-            item.setPayloadHash(currentHash);
-        }
+        verifyPayload(item, "rejection");
 
         item.setStatus(InventoryStatus.REJECTED);
         item.setApprovedBy(rejectedBy != null ? rejectedBy : "system");
         item.setApprovedAt(Instant.now());
 
         InventoryItem saved = repo.saveAndFlush(item);
-        return toResponse(saved);
+        InventoryResponse res = toResponse(saved);
+        events.publishEvent(new InventoryChangeEvent(InventoryChangeEvent.Kind.REJECTED, List.of(res)));
+        return res;
     }
 
     @Override
-    public List<InventoryResponse> listPending() {
-        List<InventoryItem> items = repo.findByStatus(InventoryStatus.PENDING);
-        if (items == null || items.isEmpty()) {
-            items = repo.findPendingNativeUpper();
+    @Transactional
+    public BulkDecisionResponse approveBulk(BulkDecisionRequest req, String approvedBy) {
+        return decideBulk(req, InventoryStatus.APPROVED, approvedBy);
+    }
+
+    @Override
+    @Transactional
+    public BulkDecisionResponse rejectBulk(BulkDecisionRequest req, String rejectedBy) {
+        return decideBulk(req, InventoryStatus.REJECTED, rejectedBy);
+    }
+
+    // One guarded UPDATE per id (still pending, at the expected version if given) in a single
+    // batch; the per-row counts say which rows this call decided, and only those are read back
+    // for the event. Payload hashes are not re-checked here; the integrity scan covers drift.
+    private BulkDecisionResponse decideBulk(BulkDecisionRequest req, InventoryStatus to, String decidedBy) {
+        if (req == null || req.getIds() == null || req.getIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No ids supplied");
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : req.getIds()) {
+            if (id != null) requested.add(id);
         }
-        return items.stream()
+        if (requested.size() > MAX_BULK_IDS) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + MAX_BULK_IDS + " ids per call");
+        }
+        Map<Long, Long> expected = req.getVersions() == null ? Map.of() : req.getVersions();
+
+        Set<Long> changed = new HashSet<>();
+        if (!requested.isEmpty()) {
+            List<Long> ordered = requested.stream().sorted().toList();
+            int[] counts = batchWriter.decidePending(ordered, expected, to,
+                    decidedBy != null ? decidedBy : "system", Instant.now());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) changed.add(ordered.get(i));
+            }
+        }
+        if (!changed.isEmpty()) {
+            List<InventoryResponse> decided = new ArrayList<>(changed.size());
+            for (InventoryItem item : repo.findAllById(changed)) decided.add(toResponse(item));
+            InventoryChangeEvent.Kind kind = to == InventoryStatus.APPROVED
+                    ? InventoryChangeEvent.Kind.APPROVED : InventoryChangeEvent.Kind.REJECTED;
+            events.publishEvent(new InventoryChangeEvent(kind, decided));
+        }
+
+        List<Long> updated = new ArrayList<>(changed.size());
+        List<Long> conflicted = new ArrayList<>();
+        for (Long id : requested) {
+            if (changed.contains(id)) updated.add(id); else conflicted.add(id);
+        }
+        return new BulkDecisionResponse(to.name(), updated, conflicted);
+    }
+
+    @Override
+    public List<InventoryResponse> listPending() {
+        if (pendingQueue.isReady()) return pendingQueue.all();
+        // Only until the startup load has finished
+        return repo.findByStatus(InventoryStatus.PENDING).stream()
                 .sorted(Comparator.comparing(InventoryItem::getCreatedAt).reversed())
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<InventoryResponse> listRecent() {
-        return repo.findTop20ByOrderByCreatedAtDesc()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<InventoryResponse> pagePending(String cursor, Integer limit) {
+        Cursor after = Cursor.decode(cursor);
+        int size = CursorPage.limit(limit);
+        if (pendingQueue.isReady()) return pendingQueue.page(after, size);
+        PageRequest window = PageRequest.of(0, size + 1);
+        List<InventoryItem> rows = after == null
+                ? repo.pageByStatus(InventoryStatus.PENDING, window)
+                : repo.pageByStatusAfter(InventoryStatus.PENDING, after.getCreatedAt(), after.getId(), window);
+        return CursorPage.of(rows, size, InventoryServiceImpl::positionOf, this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryListRow> listRecent() {
+        return repo.listRows(PageRequest.of(0, RECENT_LIMIT));
     }
 
     @Override
-    public List<InventoryResponse> listRecentByUser(String createdBy) {
+    @Transactional(readOnly = true)
+    public List<InventoryListRow> listRecentByUser(String createdBy) {
         if (createdBy == null || createdBy.isBlank()) return List.of();
-        return repo.findTop20ByCreatedByOrderByCreatedAtDesc(createdBy)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return repo.listRowsByCreatedBy(createdBy, PageRequest.of(0, RECENT_LIMIT));
     }
 
     @Override
-    public List<InventoryResponse> listAllByUser(String createdBy) {
+    @Transactional(readOnly = true)
+    public List<InventoryListRow> listAllByUser(String createdBy) {
         if (createdBy == null || createdBy.isBlank()) return List.of();
-        return repo.findByCreatedByOrderByCreatedAtDesc(createdBy)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return repo.listRowsByCreatedBy(createdBy, Pageable.unpaged());
+    }
+
+    // Hands rows to the sink as the database cursor yields them; nothing is collected
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllByUser(String createdBy, Consumer<InventoryListRow> sink) {
+        if (createdBy == null || createdBy.isBlank()) return;
+        try (Stream<InventoryListRow> rows = repo.streamRowsByCreatedBy(createdBy)) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryListRow> pageRecent(String cursor, Integer limit) {
+        Cursor after = Cursor.decode(cursor);
+        int size = CursorPage.limit(limit);
+        PageRequest window = PageRequest.of(0, size + 1);
+        List<InventoryListRow> rows = after == null
+                ? repo.listRows(window)
+                : repo.listRowsAfter(after.getCreatedAt(), after.getId(), window);
+        return CursorPage.of(rows, size, InventoryServiceImpl::positionOf, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryListRow> pageByUser(String createdBy, String cursor, Integer limit) {
+        if (createdBy == null || createdBy.isBlank()) return new CursorPage<>(List.of(), null);
+        Cursor after = Cursor.decode(cursor);
+        int size = CursorPage.limit(limit);
+        PageRequest window = PageRequest.of(0, size + 1);
+        List<InventoryListRow> rows = after == null
+                ? repo.listRowsByCreatedBy(createdBy, window)
+                : repo.listRowsByCreatedByAfter(createdBy, after.getCreatedAt(), after.getId(), window);
+        return CursorPage.of(rows, size, InventoryServiceImpl::positionOf, Function.identity());
+    }
+
+    @Override
+    public List<InventorySearchHit> search(String q, Integer limit) {
+        if (isBlank(q)) return List.of();
+        int size = (limit == null || limit <= 0) ? SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        if (searchIndex.isReady()) return searchIndex.search(q, size);
+        // Only until the startup load has finished: SKU prefix via the unique sku index
+        return repo.searchBySkuPrefix(escapeLike(q.trim()) + "%", PageRequest.of(0, size));
+    }
+
+    // Current @Version of the item, or null when it does not exist
+    @Override
+    public Long versionOf(long id) {
+        return repo.findVersionById(id).orElse(null);
     }
 
     @Override
@@ -168,82 +372,87 @@ public class InventoryServiceImpl implements InventoryService {
         return toResponse(item);
     }
 
+    // Served from in-memory counters; see InventoryStatsEngine
     @Override
     public InventoryStatsDto stats() {
-        long approved = repo.countByStatus(InventoryStatus.APPROVED);
-        long pending = repo.countByStatus(InventoryStatus.PENDING);
-        long rejected = repo.countByStatus(InventoryStatus.REJECTED);
+        return statsEngine.snapshot();
+    }
 
-        List<CategorySliceDto> categories = repo.aggregateByCategory().stream()
-                .map(a -> new CategorySliceDto(a.getCategory() == null ? "Uncategorized" : a.getCategory(), a.getTotal() == null ? 0L : a.getTotal()))
-                .collect(Collectors.toList());
+    // Without an explicit threshold the configured per-item/per-category thresholds apply and the
+    // precomputed set is served (see LowStockMonitor); ?threshold=N still queries the database
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryListRow> listLowStock(Integer threshold) {
+        if (isConfigured(threshold)) return lowStock.inventoryLow();
+        return repo.listLowStockRows(lowStockThreshold(threshold));
+    }
 
-        InventoryStatsDto out = new InventoryStatsDto(approved, pending, rejected, categories);
-        // New analytics
-        Instant now = Instant.now();
-        out.setExpired(repo.countExpiredBefore(now));
-        out.setDamaged(repo.countDamaged());
-        int threshold = 10; // could externalize
-        out.setLowStock(repo.countLowStock(threshold));
-        out.setNearExpiring(repo.countExpiringBetween(now, now.plus(7, ChronoUnit.DAYS)));
-        List<Object[]> points = repo.lowStockTrend(threshold, PageRequest.of(0, 30));
-        out.setLowStockTrend(points.stream().map(o -> {
-            InventoryStatsDto.TrendPoint p = new InventoryStatsDto.TrendPoint();
-            p.day = String.valueOf(o[0]);
-            p.count = o[1] == null ? 0L : ((Number) o[1]).longValue();
-            return p;
-        }).collect(Collectors.toList()));
-        return out;
-    }
-
-    @Override
-    public List<InventoryResponse> listLowStock(Integer threshold) {
-        int th = (threshold == null || threshold <= 0) ? 10 : threshold;
-        return repo.findByQuantityLessThanOrderByQuantityAsc(th)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLowStock(Integer threshold, Consumer<InventoryListRow> sink) {
+        if (isConfigured(threshold)) {
+            lowStock.inventoryLow().forEach(sink);
+            return;
+        }
+        try (Stream<InventoryListRow> rows = repo.streamLowStockRows(lowStockThreshold(threshold))) {
+            rows.forEach(sink);
+        }
+    }
+
+    private boolean isConfigured(Integer threshold) {
+        return (threshold == null || threshold <= 0) && lowStock.isReady();
+    }
+
+    private InventoryItem newPendingItem(CreateInventoryRequest req, String createdBy, Instant now) {
+        InventoryItem item = new InventoryItem();
+        item.setSku(req.getSku().trim());
+        item.setName(req.getName().trim());
+        item.setQuantity(req.getQuantity());
+        // Hash the price as the column stores it (scale 2) so later verification sees the same text
+        item.setUnitPrice(req.getUnitPrice().setScale(2, RoundingMode.HALF_UP));
+        item.setDescription(nullToEmpty(req.getDescription()));
+        item.setCategory(nullToEmpty(req.getCategory()));
+        item.setLocation(nullToEmpty(req.getLocation()));
+        item.setStatus(InventoryStatus.PENDING);
+        item.setCreatedBy(createdBy);
+        item.setCreatedAt(now);
+        item.setPayloadHash(PayloadHasher.hash(item));
+        return item;
     }
 
     private InventoryResponse toResponse(InventoryItem i) {
-        InventoryResponse r = new InventoryResponse();
-        r.setId(i.getId());
-        r.setSku(i.getSku());
-        r.setName(i.getName());
-        r.setQuantity(i.getQuantity());
-        r.setUnitPrice(i.getUnitPrice());
-        r.setDescription(i.getDescription());
-        r.setCategory(i.getCategory());
-        r.setLocation(i.getLocation());
-        r.setStatus(i.getStatus().name());
-        r.setCreatedBy(i.getCreatedBy());
-        r.setCreatedAt(i.getCreatedAt());
-        return r;
-    }
-
-    private static String computePayloadHash(String sku, String name, Integer qty,
-                                             String unitPrice, String desc, String category, String location) {
-        String canonical = "sku=" + safe(sku) + "|" +
-                "name=" + safe(name) + "|" +
-                "qty=" + (qty == null ? "" : qty) + "|" +
-                "price=" + safe(unitPrice) + "|" +
-                "desc=" + safe(desc) + "|" +
-                "cat=" + safe(category) + "|" +
-                "loc=" + safe(location);
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(canonical.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(digest.length * 2);
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Hashing error", e);
+        return InventoryResponse.from(i);
+    }
+
+    private static Cursor positionOf(InventoryItem i) {
+        return new Cursor(i.getCreatedAt(), i.getId());
+    }
+
+    private static Cursor positionOf(InventoryListRow r) {
+        return new Cursor(r.getCreatedAt(), r.getId());
+    }
+
+    private int lowStockThreshold(Integer threshold) {
+        return (threshold == null || threshold <= 0) ? lowStockThresholds.defaultThreshold() : threshold;
+    }
+
+    // payloadHash is write-once; a mismatch is logged and left for PayloadIntegrityScanner to report
+    private static void verifyPayload(InventoryItem item, String action) {
+        String stored = item.getPayloadHash();
+        if (stored != null && !stored.equals(PayloadHasher.hash(item))) {
+            log.warn("Payload hash mismatch on inventory item {} during {}", item.getId(), action);
         }
     }
 
+    private static String escapeLike(String s) {
+        return s.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     private static String nullToEmpty(String s) { return s == null ? "" : s; }
-    private static String safe(String s) { return s == null ? "" : s.trim(); }
     private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
+    private static String skuKey(String sku) { return sku.toLowerCase(Locale.ROOT); }
+    private static boolean isComplete(CreateInventoryRequest req) {
+        return req != null && !isBlank(req.getSku()) && !isBlank(req.getName())
+                && req.getQuantity() != null && req.getUnitPrice() != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.common.projection.JournaledProjection;
+import com.InventoryManagement.store.inventory.dto.CategorySliceDto;
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventoryStatsDto;
+import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import com.InventoryManagement.store.lowstock.service.LowStockMonitor;
+import com.InventoryManagement.store.lowstock.service.LowStockThresholds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps the /stats numbers in memory. Committed create/approve/reject events adjust LongAdder
+// counters; a scheduled reconcile re-reads the database, logs any drift and replaces them
+// (see JournaledProjection).
+// The low-stock count comes from LowStockMonitor's precomputed set, the trend from LowStockTrendRollup.
+@Component
+public class InventoryStatsEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryStatsEngine.class);
+
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    private final InventoryItemRepository repo;
+    private final LowStockTrendRollup trendRollup;
+    private final LowStockMonitor lowStock;
+    private final LowStockThresholds thresholds;
+    private final JournaledProjection<Counters, InventoryChangeEvent> counters;
+
+    public InventoryStatsEngine(InventoryItemRepository repo, LowStockTrendRollup trendRollup,
+                                LowStockMonitor lowStock, LowStockThresholds thresholds,
+                                PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.trendRollup = trendRollup;
+        this.lowStock = lowStock;
+        this.thresholds = thresholds;
+        this.counters = new JournaledProjection<>("Inventory stats", new Counters(), this::load,
+                InventoryStatsEngine::apply, InventoryStatsEngine::reportDrift, txManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InventoryChangeEvent event) {
+        counters.apply(event);
+    }
+
+    // 503 until seeded: never scans on the request thread, the scheduled seed retry loads the counters
+    public InventoryStatsDto snapshot() {
+        Counters c = counters.requireSeeded();
+
+        List<CategorySliceDto> categories = new ArrayList<>(c.categoryTotals.size());
+        c.categoryTotals.forEach((name, total) -> categories.add(new CategorySliceDto(name, total.sum())));
+        categories.sort(Comparator.comparing(CategorySliceDto::getName));
+
+        InventoryStatsDto out = new InventoryStatsDto(
+                c.count(InventoryStatus.APPROVED), c.count(InventoryStatus.PENDING),
+                c.count(InventoryStatus.REJECTED), categories);
+        out.setDamaged(c.damaged.sum());
+        out.setLowStock(lowStock.inventoryLowCount());
+        out.setExpired(c.expired);
+        out.setNearExpiring(c.nearExpiring);
+        // The daily history is kept per fixed threshold, so the trend uses the configured default
+        // (app.lowstock.default-threshold) and says so; lowStock above honours per-item overrides
+        int trendThreshold = thresholds.defaultThreshold();
+        out.setLowStockTrendThreshold(trendThreshold);
+        out.setLowStockTrend(trendRollup.trend(trendThreshold));
+        return out;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.stats.seed-retry-ms:60000}",
+            initialDelayString = "${app.inventory.stats.seed-retry-ms:60000}")
+    public void retrySeed() {
+        counters.retrySeed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.stats.reconcile-ms:300000}",
+            initialDelayString = "${app.inventory.stats.reconcile-ms:300000}")
+    public void reconcile() {
+        counters.rebuild();
+    }
+
+    private Counters load() {
+        Counters into = new Counters();
+        for (InventoryStatus s : InventoryStatus.values()) {
+            into.byStatus.get(s).add(repo.countByStatus(s));
+        }
+        for (InventoryItemRepository.CategoryAggregate a : repo.aggregateByCategory()) {
+            into.addCategory(categoryKey(a.getCategory()), a.getTotal() == null ? 0L : a.getTotal());
+        }
+        into.damaged.add(repo.countDamaged());
+
+        Instant now = Instant.now();
+        into.expired = repo.countExpiredBefore(now);
+        into.nearExpiring = repo.countExpiringBetween(now, now.plus(7, ChronoUnit.DAYS));
+        return into;
+    }
+
+    private static void apply(Counters c, InventoryChangeEvent event) {
+        for (InventoryResponse item : event.getItems()) {
+            switch (event.getKind()) {
+                case CREATED -> {
+                    int qty = item.getQuantity() == null ? 0 : item.getQuantity();
+                    c.byStatus.get(InventoryStatus.PENDING).increment();
+                    c.addCategory(categoryKey(item.getCategory()), qty);
+                }
+                case APPROVED -> {
+                    c.byStatus.get(InventoryStatus.PENDING).decrement();
+                    c.byStatus.get(InventoryStatus.APPROVED).increment();
+                }
+                case REJECTED -> {
+                    c.byStatus.get(InventoryStatus.PENDING).decrement();
+                    c.byStatus.get(InventoryStatus.REJECTED).increment();
+                }
+            }
+        }
+    }
+
+    private static void reportDrift(Counters memory, Counters db) {
+        List<String> drift = new ArrayList<>();
+        for (InventoryStatus s : InventoryStatus.values()) {
+            long d = db.count(s) - memory.count(s);
+            if (d != 0) drift.add(s.name().toLowerCase() + "=" + d);
+        }
+        long damaged = db.damaged.sum() - memory.damaged.sum();
+        if (damaged != 0) drift.add("damaged=" + damaged);
+        Set<String> names = new HashSet<>(db.categoryTotals.keySet());
+        names.addAll(memory.categoryTotals.keySet());
+        for (String name : names) {
+            long d = db.categoryTotal(name) - memory.categoryTotal(name);
+            if (d != 0) drift.add("category[" + name + "]=" + d);
+        }
+        if (!drift.isEmpty()) {
+            log.warn("Inventory stats drift corrected: {}", String.join(", ", drift));
+        }
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? UNCATEGORIZED : category;
+    }
+
+    private static final class Counters {
+        final Map<InventoryStatus, LongAdder> byStatus = new EnumMap<>(InventoryStatus.class);
+        final ConcurrentHashMap<String, LongAdder> categoryTotals = new ConcurrentHashMap<>();
+        final LongAdder damaged = new LongAdder();
+        // Clock-dependent figures, set by each reconcile and not moved by events
+        long expired;
+        long nearExpiring;
+
+        Counters() {
+            for (InventoryStatus s : InventoryStatus.values()) byStatus.put(s, new LongAdder());
+        }
+
+        long count(InventoryStatus s) { return byStatus.get(s).sum(); }
+
+        long categoryTotal(String name) {
+            LongAdder a = categoryTotals.get(name);
+            return a == null ? 0L : a.sum();
+        }
+
+        void addCategory(String name, long qty) {
+            categoryTotals.computeIfAbsent(name, k -> new LongAdder()).add(qty);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.common.web.ChangeWatermark;
+import org.springframework.stereotype.Component;
+
+// ETag source for the inventory listings. PendingQueue bumps it once it has applied a committed
+// change, so a poll that sees the new tag also sees the updated queue.
+@Component
+public class InventoryWatermark extends ChangeWatermark {
+
+    public InventoryWatermark() {
+        super("inventory");
+    }
+}
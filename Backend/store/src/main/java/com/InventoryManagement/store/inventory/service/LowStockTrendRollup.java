@@ -0,0 +1,144 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.dto.InventoryStatsDto;
+import com.InventoryManagement.store.inventory.entity.LowStockDailyRollup;
+import com.InventoryManagement.store.inventory.entity.RollupWatermark;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import com.InventoryManagement.store.inventory.repository.LowStockDailyRollupRepository;
+import com.InventoryManagement.store.inventory.repository.RollupWatermarkRepository;
+import com.InventoryManagement.store.lowstock.service.LowStockThresholds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maintains inventory_low_stock_daily from inventory_items by id range. The first run for a
+// threshold starts at id 0 and so doubles as the historical backfill; later runs only read the
+// rows inserted since the stored watermark. Submissions never change quantity after insert, so
+// a folded row never needs revisiting.
+@Component
+public class LowStockTrendRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockTrendRollup.class);
+    private static final String WATERMARK_PREFIX = "low-stock-daily:";
+    // Rows read per step while walking back from the newest id to one old enough to roll up
+    private static final int BOUND_STEP = 500;
+
+    private final InventoryItemRepository items;
+    private final LowStockDailyRollupRepository rollups;
+    private final RollupWatermarkRepository watermarks;
+    private final TransactionTemplate tx;
+    private final TreeSet<Integer> thresholds = new TreeSet<>();
+    private final long chunkIds;
+    private final Duration commitLag;
+    private final Map<Integer, List<InventoryStatsDto.TrendPoint>> trends = new ConcurrentHashMap<>();
+
+    public LowStockTrendRollup(InventoryItemRepository items,
+                               LowStockDailyRollupRepository rollups,
+                               RollupWatermarkRepository watermarks,
+                               PlatformTransactionManager txManager,
+                               LowStockThresholds lowStockThresholds,
+                               @Value("${app.inventory.lowstock.rollup-thresholds:10}") int[] thresholds,
+                               @Value("${app.inventory.lowstock.rollup-chunk-ids:50000}") long chunkIds,
+                               @Value("${app.inventory.lowstock.rollup-lag-ms:60000}") long commitLagMs) {
+        this.items = items;
+        this.rollups = rollups;
+        this.watermarks = watermarks;
+        this.tx = new TransactionTemplate(txManager);
+        for (int t : thresholds) this.thresholds.add(t);
+        // /stats shows the trend at the default low-stock threshold, so that one is always rolled up
+        this.thresholds.add(lowStockThresholds.defaultThreshold());
+        this.chunkIds = Math.max(1, chunkIds);
+        this.commitLag = Duration.ofMillis(Math.max(0, commitLagMs));
+    }
+
+    // Last 30 days (oldest first) for a threshold; no database access once the job has run
+    public List<InventoryStatsDto.TrendPoint> trend(int threshold) {
+        return trends.computeIfAbsent(threshold, this::load);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.lowstock.rollup-ms:60000}")
+    public void roll() {
+        // Identity ids are handed out before commit, so stay a little behind the newest rows
+        // to avoid stepping over one that commits late
+        Long upper = upperBound(lowestWatermark(), Instant.now().minus(commitLag));
+        if (upper == null) return;
+        for (int threshold : thresholds) {
+            try {
+                rollThreshold(threshold, upper);
+                trends.put(threshold, load(threshold));
+            } catch (RuntimeException e) {
+                log.warn("Low-stock rollup failed for threshold {}", threshold, e);
+            }
+        }
+    }
+
+    // Highest id above floor whose row is at least commitLag old. Walks back from the end of the
+    // primary key, so it reads only the rows younger than the cutoff plus one, and stops at floor:
+    // nothing below the lowest watermark needs a bound. Rows without created_at count as old.
+    private Long upperBound(long floor, Instant cutoff) {
+        Long hi = items.maxId();
+        while (hi != null && hi > floor) {
+            List<InventoryItemRepository.IdCreatedAt> rows = items.newestIdsBetween(floor, hi, PageRequest.of(0, BOUND_STEP));
+            for (InventoryItemRepository.IdCreatedAt r : rows) {
+                if (r.getCreatedAt() == null || !r.getCreatedAt().isAfter(cutoff)) return r.getId();
+            }
+            if (rows.size() < BOUND_STEP) return null;
+            hi = rows.get(rows.size() - 1).getId() - 1;
+        }
+        return null;
+    }
+
+    // Thresholds without a watermark yet start from 0
+    private long lowestWatermark() {
+        List<String> names = thresholds.stream().map(t -> WATERMARK_PREFIX + t).toList();
+        Map<String, Long> marks = new HashMap<>();
+        for (RollupWatermark w : watermarks.findAllById(names)) marks.put(w.getName(), w.getLastId());
+        long lowest = Long.MAX_VALUE;
+        for (String name : names) lowest = Math.min(lowest, marks.getOrDefault(name, 0L));
+        return lowest;
+    }
+
+    private void rollThreshold(int threshold, long upper) {
+        String name = WATERMARK_PREFIX + threshold;
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(tx.execute(s -> {
+                RollupWatermark mark = watermarks.lockByName(name).orElseGet(() -> new RollupWatermark(name, 0L));
+                long from = mark.getLastId();
+                if (from >= upper) return false;
+                long to = Math.min(upper, from + chunkIds);
+                if (from == 0) log.info("Backfilling low-stock rollup for threshold {} up to id {}", threshold, upper);
+                rollups.accumulate(threshold, from, to);
+                mark.setLastId(to);
+                watermarks.save(mark);
+                return to < upper;
+            }));
+        }
+    }
+
+    private List<InventoryStatsDto.TrendPoint> load(int threshold) {
+        List<LowStockDailyRollup> newestFirst = rollups.findTop30ByThresholdOrderByDayDesc(threshold);
+        List<InventoryStatsDto.TrendPoint> out = new ArrayList<>(newestFirst.size());
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            InventoryStatsDto.TrendPoint p = new InventoryStatsDto.TrendPoint();
+            p.day = newestFirst.get(i).getDay().toString();
+            p.count = newestFirst.get(i).getItemCount();
+            out.add(p);
+        }
+        return List.copyOf(out);
+    }
+}
@@ -0,0 +1,145 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.entity.InventoryItem;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// SHA-256 over the canonical "sku=..|name=..|qty=..|price=..|desc=..|cat=..|loc=.." form.
+// Produces exactly the digests stored by earlier releases (trimmed fields, UTF-8, lowercase hex)
+// but encodes into a per-thread buffer and reuses the MessageDigest, so hashing a row costs
+// one String allocation for the result.
+public final class PayloadHasher {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private PayloadHasher() {}
+
+    public static String hash(InventoryItem i) {
+        return hash(i.getSku(), i.getName(), i.getQuantity(),
+                i.getUnitPrice() == null ? null : i.getUnitPrice().toPlainString(),
+                i.getDescription(), i.getCategory(), i.getLocation());
+    }
+
+    public static String hash(String sku, String name, Integer qty, String unitPrice,
+                              String desc, String category, String location) {
+        Scratch s = SCRATCH.get();
+        s.len = 0;
+        s.ascii("sku=").trimmed(sku);
+        s.ascii("|name=").trimmed(name);
+        s.ascii("|qty=");
+        if (qty != null) s.integer(qty);
+        s.ascii("|price=").trimmed(unitPrice);
+        s.ascii("|desc=").trimmed(desc);
+        s.ascii("|cat=").trimmed(category);
+        s.ascii("|loc=").trimmed(location);
+        return s.finish();
+    }
+
+    private static final class Scratch {
+        private final MessageDigest digest;
+        private final byte[] out = new byte[32];
+        private final char[] hex = new char[64];
+        private byte[] buf = new byte[1024];
+        private int len;
+
+        Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        Scratch ascii(String s) {
+            ensure(s.length());
+            for (int i = 0; i < s.length(); i++) buf[len++] = (byte) s.charAt(i);
+            return this;
+        }
+
+        // Same bounds as String.trim(), without the copy
+        Scratch trimmed(String s) {
+            if (s == null) return this;
+            int from = 0;
+            int to = s.length();
+            while (from < to && s.charAt(from) <= ' ') from++;
+            while (to > from && s.charAt(to - 1) <= ' ') to--;
+            utf8(s, from, to);
+            return this;
+        }
+
+        void integer(int v) {
+            ensure(11);
+            if (v < 0) {
+                buf[len++] = '-';
+                if (v == Integer.MIN_VALUE) {
+                    ascii("2147483648");
+                    return;
+                }
+                v = -v;
+            }
+            int start = len;
+            do {
+                buf[len++] = (byte) ('0' + v % 10);
+                v /= 10;
+            } while (v != 0);
+            for (int i = start, j = len - 1; i < j; i++, j--) {
+                byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+
+        // Matches String.getBytes(UTF_8), including '?' for unpaired surrogates
+        private void utf8(String s, int from, int to) {
+            ensure((to - from) * 3);
+            for (int i = from; i < to; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[len++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[len++] = (byte) (0xC0 | (c >> 6));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, s.charAt(++i));
+                        buf[len++] = (byte) (0xF0 | (cp >> 18));
+                        buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buf[len++] = (byte) (0x80 | (cp & 0x3F));
+                    } else {
+                        buf[len++] = '?';
+                    }
+                } else {
+                    buf[len++] = (byte) (0xE0 | (c >> 12));
+                    buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                byte[] bigger = new byte[Math.max(buf.length * 2, len + extra)];
+                System.arraycopy(buf, 0, bigger, 0, len);
+                buf = bigger;
+            }
+        }
+
+        String finish() {
+            digest.update(buf, 0, len);
+            try {
+                digest.digest(out, 0, out.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < out.length; i++) {
+                hex[i * 2] = HEX[(out[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[out[i] & 0xF];
+            }
+            return new String(hex);
+        }
+    }
+}
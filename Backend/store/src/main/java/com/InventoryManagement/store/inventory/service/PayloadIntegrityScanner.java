@@ -0,0 +1,233 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.dto.IntegrityReportDto;
+import com.InventoryManagement.store.inventory.entity.IntegrityScanRun;
+import com.InventoryManagement.store.inventory.entity.PayloadDrift;
+import com.InventoryManagement.store.inventory.repository.IntegrityScanRunRepository;
+import com.InventoryManagement.store.inventory.repository.PayloadDriftRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Re-hashes inventory_items and records rows whose stored payloadHash no longer matches.
+// Workers claim consecutive primary-key ranges, so each read is a short indexed range scan
+// on its own connection; the worker count and a pause between chunks keep the load on the
+// database bounded while online traffic continues.
+@Component
+public class PayloadIntegrityScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(PayloadIntegrityScanner.class);
+
+    private static final String SELECT_RANGE =
+            "select id, sku, name, quantity, unit_price, description, category, location, payload_hash "
+                    + "from inventory_items where id >= ? and id < ?";
+    private static final String INSERT_DRIFT =
+            "insert into payload_drift (run_id, item_id, sku, stored_hash, computed_hash, kind, detected_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final int REPORT_ROWS = 500;
+
+    private final JdbcTemplate jdbc;
+    private final IntegrityScanRunRepository runs;
+    private final PayloadDriftRepository drifts;
+    private final int threads;
+    private final long chunkIds;
+    private final long pauseMs;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "integrity-scan");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PayloadIntegrityScanner(JdbcTemplate jdbc,
+                                   IntegrityScanRunRepository runs,
+                                   PayloadDriftRepository drifts,
+                                   @Value("${app.inventory.integrity.threads:2}") int threads,
+                                   @Value("${app.inventory.integrity.chunk-ids:5000}") long chunkIds,
+                                   @Value("${app.inventory.integrity.pause-ms:20}") long pauseMs) {
+        this.jdbc = jdbc;
+        this.runs = runs;
+        this.drifts = drifts;
+        this.threads = Math.max(1, threads);
+        this.chunkIds = Math.max(1, chunkIds);
+        this.pauseMs = Math.max(0, pauseMs);
+    }
+
+    @Scheduled(cron = "${app.inventory.integrity.cron:0 30 3 * * *}")
+    public void nightly() {
+        if (!running.get()) start("scheduler");
+    }
+
+    // Starts a scan in the background and returns the RUNNING run
+    public IntegrityScanRun start(String triggeredBy) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An integrity scan is already running");
+        }
+        try {
+            IntegrityScanRun run = new IntegrityScanRun();
+            run.setStatus(IntegrityScanRun.Status.RUNNING);
+            run.setTriggeredBy(triggeredBy != null ? triggeredBy : "system");
+            run.setStartedAt(Instant.now());
+            IntegrityScanRun saved = runs.save(run);
+            coordinator.submit(() -> execute(saved));
+            return saved;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public IntegrityReportDto latestReport() {
+        IntegrityScanRun run = runs.findTopByOrderByIdDesc()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No integrity scan has run yet"));
+        IntegrityReportDto dto = new IntegrityReportDto();
+        dto.runId = run.getId();
+        dto.status = run.getStatus().name();
+        dto.triggeredBy = run.getTriggeredBy();
+        dto.startedAt = run.getStartedAt();
+        dto.finishedAt = run.getFinishedAt();
+        dto.rowsScanned = run.getRowsScanned();
+        dto.mismatches = run.getMismatches();
+        dto.error = run.getError();
+        dto.drifts = drifts.findByRunIdOrderByItemIdAsc(run.getId(), PageRequest.of(0, REPORT_ROWS)).stream().map(d -> {
+            IntegrityReportDto.Drift r = new IntegrityReportDto.Drift();
+            r.itemId = d.getItemId();
+            r.sku = d.getSku();
+            r.kind = d.getKind().name();
+            r.storedHash = d.getStoredHash();
+            r.computedHash = d.getComputedHash();
+            return r;
+        }).toList();
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping.set(true);
+        coordinator.shutdownNow();
+    }
+
+    private void execute(IntegrityScanRun run) {
+        LongAdder scanned = new LongAdder();
+        LongAdder mismatched = new LongAdder();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "integrity-scan-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Long[] bounds = jdbc.queryForObject("select min(id), max(id) from inventory_items",
+                    (rs, n) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+            if (bounds != null && bounds[0] != null) {
+                AtomicLong next = new AtomicLong(bounds[0]);
+                long end = bounds[1] + 1;
+                List<Future<?>> futures = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    futures.add(workers.submit(() -> work(run.getId(), next, end, scanned, mismatched)));
+                }
+                for (Future<?> f : futures) f.get();
+            }
+            run.setStatus(IntegrityScanRun.Status.COMPLETED);
+        } catch (Exception e) {
+            log.warn("Integrity scan {} failed", run.getId(), e);
+            run.setStatus(IntegrityScanRun.Status.FAILED);
+            String msg = String.valueOf(e.getMessage());
+            run.setError(msg.length() > 500 ? msg.substring(0, 500) : msg);
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+            run.setRowsScanned(scanned.sum());
+            run.setMismatches(mismatched.sum());
+            run.setFinishedAt(Instant.now());
+            try {
+                runs.save(run);
+            } finally {
+                running.set(false);
+            }
+            log.info("Integrity scan {} {}: {} rows, {} mismatches", run.getId(), run.getStatus(), scanned.sum(), mismatched.sum());
+        }
+    }
+
+    private void work(long runId, AtomicLong next, long end, LongAdder scanned, LongAdder mismatched) {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        List<Object[]> found = new ArrayList<>();
+        while (!stopping.get()) {
+            long from = next.getAndAdd(chunkIds);
+            if (from >= end) return;
+            long to = Math.min(end, from + chunkIds);
+            found.clear();
+            jdbc.query(SELECT_RANGE, rs -> {
+                scanned.increment();
+                long id = rs.getLong(1);
+                String sku = rs.getString(2);
+                int qty = rs.getInt(4);
+                Integer quantity = rs.wasNull() ? null : qty;
+                BigDecimal price = rs.getBigDecimal(5);
+                String stored = rs.getString(9);
+                String computed = PayloadHasher.hash(sku, rs.getString(3), quantity,
+                        price == null ? null : price.toPlainString(),
+                        rs.getString(6), rs.getString(7), rs.getString(8));
+                if (!computed.equals(stored)) {
+                    PayloadDrift.Kind kind = priceFormatOnly(stored, sku, rs.getString(3), quantity, price,
+                            rs.getString(6), rs.getString(7), rs.getString(8))
+                            ? PayloadDrift.Kind.PRICE_FORMAT : PayloadDrift.Kind.CONTENT;
+                    found.add(new Object[]{runId, id, sku, stored, computed, kind.name()});
+                }
+            }, from, to);
+            if (!found.isEmpty()) {
+                Timestamp now = Timestamp.from(Instant.now());
+                jdbc.batchUpdate(INSERT_DRIFT, found, found.size(), (ps, row) -> {
+                    for (int i = 0; i < row.length; i++) ps.setObject(i + 1, row[i]);
+                    ps.setTimestamp(7, now, utc);
+                });
+                mismatched.add(found.size());
+            }
+            if (pauseMs > 0) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Submissions used to be hashed with the price exactly as posted ("12.5") while the column
+    // keeps scale 2 ("12.50"); such rows are flagged separately from real content drift
+    private static boolean priceFormatOnly(String stored, String sku, String name, Integer qty, BigDecimal price,
+                                           String desc, String category, String location) {
+        if (price == null || stored == null) return false;
+        BigDecimal stripped = price.stripTrailingZeros();
+        String[] variants = {
+                stripped.toPlainString(),
+                stripped.scale() < 1 ? price.setScale(1).toPlainString() : null
+        };
+        for (String v : variants) {
+            if (v != null && stored.equals(PayloadHasher.hash(sku, name, qty, v, desc, category, location))) return true;
+        }
+        return false;
+    }
+}
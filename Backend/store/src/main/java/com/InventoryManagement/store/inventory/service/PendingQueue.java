@@ -0,0 +1,127 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.common.paging.Cursor;
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.entity.InventoryItem;
+import com.InventoryManagement.store.inventory.entity.InventoryStatus;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// PENDING items kept in memory, newest first by (createdAt, id). Loaded once at startup and
+// then maintained from committed InventoryChangeEvents, so the checker queue never scans.
+@Component
+public class PendingQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingQueue.class);
+    private static final int LOAD_CHUNK = 1000;
+
+    private static final Comparator<Cursor> NEWEST_FIRST = Comparator
+            .comparing(Cursor::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Cursor::getId, Comparator.reverseOrder());
+
+    private final InventoryItemRepository repo;
+    private final TransactionTemplate tx;
+    private final InventoryWatermark watermark;
+    private final ConcurrentSkipListMap<Cursor, InventoryResponse> byAge = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final Map<Long, Cursor> byId = new ConcurrentHashMap<>();
+    // ids decided while the startup load is still reading, so the loader does not re-add them
+    private final Set<Long> decidedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public PendingQueue(InventoryItemRepository repo, PlatformTransactionManager txManager, InventoryWatermark watermark) {
+        this.repo = repo;
+        this.watermark = watermark;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    public boolean isReady() { return ready; }
+
+    public int size() { return byAge.size(); }
+
+    public List<InventoryResponse> all() {
+        return new ArrayList<>(byAge.values());
+    }
+
+    public CursorPage<InventoryResponse> page(Cursor after, int limit) {
+        NavigableMap<Cursor, InventoryResponse> view = after == null ? byAge : byAge.tailMap(after, false);
+        List<Map.Entry<Cursor, InventoryResponse>> rows = new ArrayList<>(limit + 1);
+        for (Map.Entry<Cursor, InventoryResponse> e : view.entrySet()) {
+            rows.add(e);
+            if (rows.size() > limit) break;
+        }
+        return CursorPage.of(rows, limit, Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InventoryChangeEvent event) {
+        for (InventoryResponse item : event.getItems()) {
+            if (event.getKind() == InventoryChangeEvent.Kind.CREATED) {
+                add(item);
+            } else {
+                if (loading) decidedDuringLoad.add(item.getId());
+                remove(item.getId());
+            }
+        }
+        // Only now may listings be tagged as reflecting this change
+        watermark.bump();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loading = true;
+        try {
+            // Legacy rows may carry 'pending'/'Approved'; fix them once so status = ? works everywhere
+            Integer fixed = tx.execute(s -> repo.normalizeStatusCase());
+            if (fixed != null && fixed > 0) log.info("Normalised status casing on {} inventory rows", fixed);
+
+            List<InventoryItem> chunk = repo.pageByStatus(InventoryStatus.PENDING, PageRequest.of(0, LOAD_CHUNK));
+            while (!chunk.isEmpty()) {
+                for (InventoryItem i : chunk) {
+                    if (!decidedDuringLoad.contains(i.getId())) add(InventoryResponse.from(i));
+                }
+                if (chunk.size() < LOAD_CHUNK) break;
+                InventoryItem last = chunk.get(chunk.size() - 1);
+                chunk = repo.pageByStatusAfter(InventoryStatus.PENDING, last.getCreatedAt(), last.getId(),
+                        PageRequest.of(0, LOAD_CHUNK));
+            }
+            ready = true;
+            watermark.bump();
+            log.info("Pending queue loaded with {} items", byAge.size());
+        } finally {
+            loading = false;
+            decidedDuringLoad.clear();
+        }
+    }
+
+    private void add(InventoryResponse item) {
+        Cursor key = new Cursor(item.getCreatedAt(), item.getId());
+        byAge.put(key, item);
+        byId.put(item.getId(), key);
+    }
+
+    private void remove(Long id) {
+        Cursor key = byId.remove(id);
+        if (key != null) byAge.remove(key);
+    }
+}
@@ -1,19 +1,48 @@
 package com.InventoryManagement.store.invoice.controller;
 
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.common.web.ChangeWatermark;
+import com.InventoryManagement.store.common.web.CsvStreams;
+import com.InventoryManagement.store.common.web.JsonStreams;
+import com.InventoryManagement.store.common.web.PdfStreams;
+import com.InventoryManagement.store.invoice.dto.InvoiceAggregateDto;
 import com.InventoryManagement.store.invoice.dto.InvoiceDto;
+import com.InventoryManagement.store.invoice.dto.InvoiceExportRow;
+import com.InventoryManagement.store.invoice.dto.ReverseInvoiceRequest;
 import com.InventoryManagement.store.invoice.service.InvoiceService;
+import com.InventoryManagement.store.invoice.service.InvoiceWatermark;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/invoices")
 public class InvoiceController {
 
     private final InvoiceService service;
+    private final InvoiceWatermark watermark;
+    private final ObjectMapper mapper;
 
-    public InvoiceController(InvoiceService service) { this.service = service; }
+    // Listings and single invoices answer If-None-Match with 304 before any query or mapping
+    public InvoiceController(InvoiceService service, InvoiceWatermark watermark, ObjectMapper mapper) {
+        this.service = service;
+        this.watermark = watermark;
+        this.mapper = mapper;
+    }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
@@ -21,14 +50,112 @@ public class InvoiceController {
             @RequestParam(value = "type", required = false) String type,
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "10") int size
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            WebRequest request
+    ) {
+        return ChangeWatermark.conditional(request, watermark.etag(), () -> service.list(type, status, page, size));
+    }
+
+    // Same page without a total (no count at all): /api/invoices?slice=true
+    @GetMapping(params = "slice=true")
+    @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
+    public ResponseEntity<Slice<InvoiceDto>> listSlice(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            WebRequest request
+    ) {
+        return ChangeWatermark.conditional(request, watermark.etag(), () -> service.listSlice(type, status, page, size));
+    }
+
+    // Whole listing as a JSON array written while the rows are read: /api/invoices?stream=true
+    @GetMapping(params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "status", required = false) String status
+    ) {
+        return ResponseEntity.ok(JsonStreams.<InvoiceDto>array(mapper, sink -> service.streamAll(type, status, sink)));
+    }
+
+    // Keyset-paged listing; pass back nextCursor to continue
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
+    public ResponseEntity<CursorPage<InvoiceDto>> listByCursor(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(service.list(type, status, page, size));
+        return ChangeWatermark.conditional(request, watermark.etag(), () -> service.listByCursor(type, status, cursor, limit));
+    }
+
+    // Invoices dated in [from, to) and their lines, one row per line, streamed as CSV or ?format=pdf
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "format", defaultValue = "csv") String format
+    ) {
+        String[] header = {"external_id", "type", "supplier", "date", "status", "amount", "line", "sku", "item",
+                "qty", "unit_price", "line_total", "reason"};
+        Function<InvoiceExportRow, Object[]> columns = r -> new Object[] {r.externalId, r.type, r.supplier, r.date,
+                r.status, r.amount, r.lineNo, r.sku, r.name, r.qty, r.unitPrice, r.lineTotal, r.reason};
+        Consumer<Consumer<InvoiceExportRow>> rows = sink -> service.streamExport(from, to, type, status, sink);
+        if ("pdf".equalsIgnoreCase(format)) {
+            int[] widths = {22, 8, 14, 20, 9, 12, 4, 16, 24, 6, 10, 12, 24};
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"invoices.pdf\"")
+                    .body(PdfStreams.table("Invoices " + (from == null ? "" : from) + " - " + (to == null ? "" : to),
+                            header, widths, columns, rows));
+        }
+        if (!"csv".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or pdf");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"invoices.csv\"")
+                .body(CsvStreams.table(header, columns, rows));
+    }
+
+    // Totals by any of supplier, month, status, type over invoices dated in [from, to); amounts are net
+    // of returns (reverse invoices count negatively), group by type to see returns on their own
+    @GetMapping("/aggregate")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<InvoiceAggregateDto> aggregate(
+            @RequestParam(value = "groupBy", required = false) String groupBy,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "status", required = false) String status
+    ) {
+        return ResponseEntity.ok(service.aggregate(groupBy, from, to, type, status));
+    }
+
+    @PostMapping("/reverse")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<InvoiceDto> createReverse(@RequestBody ReverseInvoiceRequest req) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createReverse(req));
+    }
+
+    // Lookup by the id the ERP knows, e.g. SUB-<sku> or REV-SUB-<sku>-1
+    @GetMapping("/by-external/{externalId}")
+    @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
+    public ResponseEntity<InvoiceDto> getByExternalId(@PathVariable String externalId) {
+        return ResponseEntity.ok(service.getByExternalId(externalId));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('MAKER','CHECKER','MANAGER')")
-    public ResponseEntity<InvoiceDto> get(@PathVariable long id) {
-        return ResponseEntity.ok(service.get(id));
+    public ResponseEntity<InvoiceDto> get(@PathVariable long id, WebRequest request) {
+        Long version = service.versionOf(id);
+        String etag = version == null ? null : ChangeWatermark.entityTag("invoice", id, version);
+        return ChangeWatermark.conditional(request, etag, () -> service.get(id));
     }
 }
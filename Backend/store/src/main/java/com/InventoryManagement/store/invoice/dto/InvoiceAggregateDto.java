@@ -0,0 +1,25 @@
+package com.InventoryManagement.store.invoice.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public class InvoiceAggregateDto {
+    public List<String> groupBy;  // any of supplier, month, status, type
+    public LocalDate from;        // inclusive, null = unbounded
+    public LocalDate to;          // exclusive, null = unbounded
+    public long invoices;
+    public BigDecimal amount;     // net: reverse invoices count negatively
+    public Instant snapshotAt;    // when the snapshot was last rebuilt from the database
+    public List<Group> groups;
+
+    public static class Group {
+        public String supplier;   // null unless grouped by it
+        public String month;      // yyyy-MM
+        public String status;
+        public String type;
+        public long invoices;
+        public BigDecimal amount; // negative for the reverse group
+    }
+}
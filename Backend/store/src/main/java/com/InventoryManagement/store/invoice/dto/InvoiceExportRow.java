@@ -0,0 +1,44 @@
+package com.InventoryManagement.store.invoice.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// One invoice line as exported, with its invoice's columns repeated (line fields are null for an
+// invoice without lines)
+public class InvoiceExportRow {
+    public final long invoiceId;
+    public final String externalId;
+    public final String type;
+    public final String supplier;
+    public final Instant date;
+    public final String status;
+    public final BigDecimal amount;
+    public final String reason;
+    public final Integer lineNo;
+    public final String sku;
+    public final String name;
+    public final Integer qty;
+    public final BigDecimal unitPrice;
+    public final BigDecimal lineTotal;
+    public final Instant createdAt; // export cursor only, not a column
+
+    public InvoiceExportRow(long invoiceId, String externalId, String type, String supplier, Instant date, String status,
+                            BigDecimal amount, String reason, Integer lineNo, String sku, String name, Integer qty,
+                            BigDecimal unitPrice, BigDecimal lineTotal, Instant createdAt) {
+        this.invoiceId = invoiceId;
+        this.externalId = externalId;
+        this.type = type;
+        this.supplier = supplier;
+        this.date = date;
+        this.status = status;
+        this.amount = amount;
+        this.reason = reason;
+        this.lineNo = lineNo;
+        this.sku = sku;
+        this.name = name;
+        this.qty = qty;
+        this.unitPrice = unitPrice;
+        this.lineTotal = lineTotal;
+        this.createdAt = createdAt;
+    }
+}
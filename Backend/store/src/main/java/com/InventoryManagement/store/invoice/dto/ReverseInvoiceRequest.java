@@ -0,0 +1,16 @@
+package com.InventoryManagement.store.invoice.dto;
+
+import java.util.List;
+
+// Goods returned against an approved incoming invoice, named by id or by external id
+public class ReverseInvoiceRequest {
+    public Long originalId;
+    public String originalExternalId;
+    public String reason;
+    public List<Line> items;
+
+    public static class Line {
+        public String sku;
+        public int qty;
+    }
+}
@@ -1 +1,103 @@
+package com.InventoryManagement.store.invoice.entity;
 
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Lines live in invoice_items and are loaded per page with one IN query (see InvoiceItemRepository)
+@Entity
+@Table(name = "invoices", indexes = {
+        @Index(name = "ux_invoices_external_id", columnList = "external_id", unique = true),
+        // Keyset pagination on (created_at, id) within a type, optionally narrowed by status
+        @Index(name = "ix_invoices_type_created_at_id", columnList = "type, created_at, id"),
+        @Index(name = "ix_invoices_type_status_created_at_id", columnList = "type, status, created_at, id"),
+        // Export walks (created_at, id): unlike invoice_date it never changes once written
+        @Index(name = "ix_invoices_created_at_id", columnList = "created_at, id"),
+        @Index(name = "ix_invoices_source_item_id", columnList = "source_item_id"),
+        @Index(name = "ix_invoices_original_invoice_id", columnList = "original_invoice_id")
+})
+public class Invoice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "external_id", nullable = false, length = 120)
+    private String externalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InvoiceType type;
+
+    @Column(nullable = false, length = 100)
+    private String supplier;
+
+    @Column(name = "invoice_date", nullable = false)
+    private Instant invoiceDate;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    // Sum of the line totals, fixed when the invoice is written
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String reason;
+
+    // The inventory submission an incoming invoice was raised for
+    @Column(name = "source_item_id")
+    private Long sourceItemId;
+
+    // The incoming invoice a reverse invoice returns goods against
+    @Column(name = "original_invoice_id")
+    private Long originalId;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getExternalId() { return externalId; }
+    public void setExternalId(String externalId) { this.externalId = externalId; }
+
+    public InvoiceType getType() { return type; }
+    public void setType(InvoiceType type) { this.type = type; }
+
+    public String getSupplier() { return supplier; }
+    public void setSupplier(String supplier) { this.supplier = supplier; }
+
+    public Instant getInvoiceDate() { return invoiceDate; }
+    public void setInvoiceDate(Instant invoiceDate) { this.invoiceDate = invoiceDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public Long getSourceItemId() { return sourceItemId; }
+    public void setSourceItemId(Long sourceItemId) { this.sourceItemId = sourceItemId; }
+
+    public Long getOriginalId() { return originalId; }
+    public void setOriginalId(Long originalId) { this.originalId = originalId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
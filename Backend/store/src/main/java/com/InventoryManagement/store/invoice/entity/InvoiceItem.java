@@ -1 +1,60 @@
+package com.InventoryManagement.store.invoice.entity;
 
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "invoice_items", indexes = {
+        @Index(name = "ix_invoice_items_invoice_id_line_no", columnList = "invoice_id, line_no")
+})
+public class InvoiceItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(name = "line_no", nullable = false)
+    private int lineNo;
+
+    @Column(length = 100)
+    private String sku;
+
+    @Column(nullable = false, length = 255)
+    private String name;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal lineTotal;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+
+    public int getLineNo() { return lineNo; }
+    public void setLineNo(int lineNo) { this.lineNo = lineNo; }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+
+    public BigDecimal getLineTotal() { return lineTotal; }
+    public void setLineTotal(BigDecimal lineTotal) { this.lineTotal = lineTotal; }
+}
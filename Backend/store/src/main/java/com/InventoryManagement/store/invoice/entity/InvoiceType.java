@@ -0,0 +1,6 @@
+package com.InventoryManagement.store.invoice.entity;
+
+public enum InvoiceType {
+    INCOMING,
+    REVERSE   // goods returned against an approved incoming invoice
+}
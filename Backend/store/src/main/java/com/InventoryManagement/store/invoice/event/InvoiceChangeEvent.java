@@ -0,0 +1,26 @@
+package com.InventoryManagement.store.invoice.event;
+
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// Published inside the transaction that wrote the invoices; projections (per-status counts, the
+// aggregation snapshot) listen AFTER_COMMIT like they do for InventoryChangeEvent.
+public class InvoiceChangeEvent {
+
+    // An invoice as it was before (from*, null when it was just created) and after the change
+    public record Change(InvoiceType type, String externalId, String supplier, BigDecimal amount,
+                         String fromStatus, Instant fromDate, String toStatus, Instant toDate) {
+        public boolean isCreated() { return fromStatus == null; }
+    }
+
+    private final List<Change> changes;
+
+    public InvoiceChangeEvent(List<Change> changes) {
+        this.changes = changes;
+    }
+
+    public List<Change> getChanges() { return changes; }
+}
@@ -0,0 +1,25 @@
+package com.InventoryManagement.store.invoice.repository;
+
+import com.InventoryManagement.store.invoice.entity.InvoiceItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface InvoiceItemRepository extends JpaRepository<InvoiceItem, Long> {
+
+    // Lines of a whole page of invoices in one query, grouped by invoice
+    @Query("select l from InvoiceItem l where l.invoiceId in ?1 order by l.invoiceId, l.lineNo")
+    List<InvoiceItem> findByInvoiceIds(Collection<Long> invoiceIds);
+
+    interface SkuQuantity {
+        String getSku();
+        Long getQuantity();
+    }
+
+    // Quantities already returned per SKU by the reverse invoices of one original
+    @Query("select l.sku as sku, sum(l.quantity) as quantity from InvoiceItem l, Invoice v " +
+            "where l.invoiceId = v.id and v.originalId = ?1 group by l.sku")
+    List<SkuQuantity> returnedByOriginal(long originalId);
+}
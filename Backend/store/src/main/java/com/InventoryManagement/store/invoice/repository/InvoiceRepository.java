@@ -1 +1,61 @@
+package com.InventoryManagement.store.invoice.repository;
 
+import com.InventoryManagement.store.invoice.entity.Invoice;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+
+    // Offset pages without a count query (one extra row decides hasNext); totals come from InvoiceCounts
+    @Query("select v from Invoice v where v.type = ?1 order by v.createdAt desc, v.id desc")
+    Slice<Invoice> findSlice(InvoiceType type, Pageable pageable);
+
+    @Query("select v from Invoice v where v.type = ?1 and v.status = ?2 order by v.createdAt desc, v.id desc")
+    Slice<Invoice> findSliceByStatus(InvoiceType type, String status, Pageable pageable);
+
+    interface StatusCount {
+        InvoiceType getType();
+        String getStatus();
+        Long getTotal();
+    }
+
+    @Query("select v.type as type, v.status as status, count(v) as total from Invoice v group by v.type, v.status")
+    List<StatusCount> countByTypeAndStatus();
+
+    // Keyset pages for /api/invoices/page, newest first
+    @Query("select v from Invoice v where v.type = ?1 order by v.createdAt desc, v.id desc")
+    List<Invoice> pageByType(InvoiceType type, Pageable limit);
+
+    @Query("select v from Invoice v where v.type = ?1 and (v.createdAt < ?2 or (v.createdAt = ?2 and v.id < ?3)) " +
+            "order by v.createdAt desc, v.id desc")
+    List<Invoice> pageByTypeAfter(InvoiceType type, Instant createdAt, long id, Pageable limit);
+
+    @Query("select v from Invoice v where v.type = ?1 and v.status = ?2 order by v.createdAt desc, v.id desc")
+    List<Invoice> pageByTypeAndStatus(InvoiceType type, String status, Pageable limit);
+
+    @Query("select v from Invoice v where v.type = ?1 and v.status = ?2 and (v.createdAt < ?3 or (v.createdAt = ?3 and v.id < ?4)) " +
+            "order by v.createdAt desc, v.id desc")
+    List<Invoice> pageByTypeAndStatusAfter(InvoiceType type, String status, Instant createdAt, long id, Pageable limit);
+
+    Optional<Invoice> findByExternalId(String externalId);
+
+    // ETag check for GET /api/invoices/{id}
+    @Query("select v.version from Invoice v where v.id = ?1")
+    Optional<Long> findVersionById(long id);
+
+    // Serialises reverse invoices raised against the same original
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Invoice v where v.id = ?1")
+    Optional<Invoice> lockById(long id);
+
+    long countByOriginalId(Long originalId);
+}
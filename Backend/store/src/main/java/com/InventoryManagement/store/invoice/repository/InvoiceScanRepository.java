@@ -0,0 +1,99 @@
+package com.InventoryManagement.store.invoice.repository;
+
+import com.InventoryManagement.store.invoice.dto.InvoiceExportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// Forward-only reads of invoices. MySQL Connector/J streams row by row only with fetch size
+// Integer.MIN_VALUE on a read-only, forward-only statement; anything else buffers the result.
+@Repository
+public class InvoiceScanRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public InvoiceScanRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @FunctionalInterface
+    public interface AmountHandler {
+        void row(String type, String supplier, Instant date, String status, long cents);
+    }
+
+    // Every invoice's grouping columns and amount in cents; returns the row count
+    public long scanAmounts(AmountHandler handler) {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        long[] rows = {0};
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "select type, supplier, invoice_date, status, round(amount * 100) from invoices",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            Timestamp date = rs.getTimestamp(3, utc);
+            handler.row(rs.getString(1), rs.getString(2), date == null ? null : date.toInstant(), rs.getString(4), rs.getLong(5));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    // Up to `invoices` invoices dated in [from, to) after the (created_at, id) position, with their
+    // lines, in (created_at, id, line_no) order. The keyset is on created_at because approve/reject
+    // rewrites invoice_date; an invoice decided mid-export would otherwise jump the cursor. Since
+    // invoice_date is never before created_at, created_at < to bounds the index range.
+    // One statement per chunk: the derived table picks the invoices, the join brings their lines.
+    public List<InvoiceExportRow> exportChunk(Instant from, Instant to, String type, String status,
+                                              Instant afterCreatedAt, long afterId, int invoices) {
+        StringBuilder where = new StringBuilder("where 1 = 1");
+        List<Object> args = new ArrayList<>();
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        if (from != null) { where.append(" and invoice_date >= ?"); args.add(Timestamp.from(from)); }
+        if (to != null) {
+            where.append(" and invoice_date < ? and created_at < ?");
+            args.add(Timestamp.from(to));
+            args.add(Timestamp.from(to));
+        }
+        if (type != null) { where.append(" and type = ?"); args.add(type); }
+        if (status != null) { where.append(" and status = ?"); args.add(status); }
+        if (afterCreatedAt != null) {
+            where.append(" and (created_at > ? or (created_at = ? and id > ?))");
+            args.add(Timestamp.from(afterCreatedAt));
+            args.add(Timestamp.from(afterCreatedAt));
+            args.add(afterId);
+        }
+        args.add(invoices);
+        String sql = "select v.id, v.external_id, v.type, v.supplier, v.invoice_date, v.status, v.amount, v.reason, "
+                + "l.line_no, l.sku, l.name, l.quantity, l.unit_price, l.line_total, v.created_at "
+                + "from (select id, external_id, type, supplier, invoice_date, status, amount, reason, created_at from invoices "
+                + where + " order by created_at, id limit ?) v "
+                + "left join invoice_items l on l.invoice_id = v.id "
+                + "order by v.created_at, v.id, l.line_no";
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            for (int i = 0; i < args.size(); i++) {
+                Object a = args.get(i);
+                if (a instanceof Timestamp t) ps.setTimestamp(i + 1, t, utc); else ps.setObject(i + 1, a);
+            }
+            return ps;
+        }, (rs, n) -> {
+            Timestamp date = rs.getTimestamp(5, utc);
+            Timestamp created = rs.getTimestamp(15, utc);
+            return new InvoiceExportRow(rs.getLong(1), rs.getString(2), rs.getString(3).toLowerCase(Locale.ROOT),
+                    rs.getString(4), date == null ? null : date.toInstant(), rs.getString(6), rs.getBigDecimal(7),
+                    rs.getString(8), rs.getObject(9, Integer.class), rs.getString(10), rs.getString(11),
+                    rs.getObject(12, Integer.class), rs.getBigDecimal(13), rs.getBigDecimal(14),
+                    created == null ? null : created.toInstant());
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.InventoryManagement.store.invoice.repository;
+
+import com.InventoryManagement.store.invoice.entity.Invoice;
+import com.InventoryManagement.store.invoice.entity.InvoiceItem;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Plain JDBC write path for invoices, so a batch of inventory submissions costs one multi-row
+// INSERT per chunk for the invoices and one for their lines (IDENTITY ids keep Hibernate from
+// batching, same as InventoryBatchWriter).
+@Repository
+public class InvoiceWriter {
+
+    private static final String INSERT_INVOICE_SQL =
+            "insert into invoices (external_id, type, supplier, invoice_date, status, amount, reason, "
+                    + "source_item_id, original_invoice_id, created_at, updated_at, version) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_LINE_SQL =
+            "insert into invoice_items (invoice_id, line_no, sku, name, quantity, unit_price, line_total) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS_SQL =
+            "update invoices set status = ?, invoice_date = ?, updated_at = ?, version = version + 1 "
+                    + "where type = ? and source_item_id = ?";
+
+    // Incoming invoices for submissions that have none yet, one id range at a time
+    private static final String BACKFILL_INVOICES_SQL =
+            "insert into invoices (external_id, type, supplier, invoice_date, status, amount, reason, "
+                    + "source_item_id, created_at, updated_at, version) "
+                    + "select concat('SUB-', i.sku), 'INCOMING', i.created_by, coalesce(i.approved_at, i.created_at), "
+                    + "i.status, round(i.unit_price * i.quantity, 2), null, i.id, i.created_at, ?, 0 "
+                    + "from inventory_items i "
+                    + "where i.id > ? and i.id <= ? "
+                    + "and not exists (select 1 from invoices v where v.type = 'INCOMING' and v.source_item_id = i.id)";
+    private static final String BACKFILL_LINES_SQL =
+            "insert into invoice_items (invoice_id, line_no, sku, name, quantity, unit_price, line_total) "
+                    + "select v.id, 1, i.sku, i.name, i.quantity, i.unit_price, v.amount "
+                    + "from invoices v join inventory_items i on i.id = v.source_item_id "
+                    + "where v.type = 'INCOMING' and i.id > ? and i.id <= ? "
+                    + "and not exists (select 1 from invoice_items l where l.invoice_id = v.id)";
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    public InvoiceWriter(JdbcTemplate jdbc,
+                         @Value("${app.inventory.batch.jdbc-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public record NewInvoice(Invoice invoice, List<InvoiceItem> lines) {}
+
+    // Inserts the invoices, writes the generated ids back onto them and their lines, then inserts the lines
+    public void insertAll(List<NewInvoice> invoices) {
+        List<InvoiceItem> lines = new ArrayList<>();
+        for (int from = 0; from < invoices.size(); from += batchSize) {
+            List<NewInvoice> chunk = invoices.subList(from, Math.min(invoices.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(
+                    con -> con.prepareStatement(INSERT_INVOICE_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new InvoiceSetter(chunk),
+                    keys);
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int i = 0; i < chunk.size() && i < generated.size(); i++) {
+                long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+                NewInvoice n = chunk.get(i);
+                n.invoice().setId(id);
+                n.invoice().setVersion(0L);
+                for (InvoiceItem line : n.lines()) {
+                    line.setInvoiceId(id);
+                    lines.add(line);
+                }
+            }
+        }
+        for (int from = 0; from < lines.size(); from += batchSize) {
+            List<InvoiceItem> chunk = lines.subList(from, Math.min(lines.size(), from + batchSize));
+            jdbc.batchUpdate(INSERT_LINE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    InvoiceItem line = chunk.get(i);
+                    ps.setLong(1, line.getInvoiceId());
+                    ps.setInt(2, line.getLineNo());
+                    ps.setString(3, line.getSku());
+                    ps.setString(4, line.getName());
+                    ps.setInt(5, line.getQuantity());
+                    ps.setBigDecimal(6, line.getUnitPrice());
+                    ps.setBigDecimal(7, line.getLineTotal());
+                }
+
+                @Override
+                public int getBatchSize() { return chunk.size(); }
+            });
+        }
+    }
+
+    public record StatusChange(long sourceItemId, String status, Instant date) {}
+
+    // Moves the invoices raised for these submissions to their new status
+    public void updateStatus(InvoiceType type, List<StatusChange> changes, Instant now) {
+        Calendar utc = utc();
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<StatusChange> chunk = changes.subList(from, Math.min(changes.size(), from + batchSize));
+            jdbc.batchUpdate(UPDATE_STATUS_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    StatusChange c = chunk.get(i);
+                    ps.setString(1, c.status());
+                    ps.setTimestamp(2, Timestamp.from(c.date()), utc);
+                    ps.setTimestamp(3, Timestamp.from(now), utc);
+                    ps.setString(4, type.name());
+                    ps.setLong(5, c.sourceItemId());
+                }
+
+                @Override
+                public int getBatchSize() { return chunk.size(); }
+            });
+        }
+    }
+
+    public long maxInventoryId() {
+        Long max = jdbc.queryForObject("select coalesce(max(id), 0) from inventory_items", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Raises the missing incoming invoices for inventory ids in (fromId, toId]; returns how many
+    public int backfillIncoming(long fromId, long toId, Instant now) {
+        int created = jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(BACKFILL_INVOICES_SQL);
+            ps.setTimestamp(1, Timestamp.from(now), utc());
+            ps.setLong(2, fromId);
+            ps.setLong(3, toId);
+            return ps;
+        });
+        if (created > 0) jdbc.update(BACKFILL_LINES_SQL, fromId, toId);
+        return created;
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+
+    private static final class InvoiceSetter implements BatchPreparedStatementSetter {
+        private final List<NewInvoice> chunk;
+        // Same UTC normalisation Hibernate applies when binding Instant columns
+        private final Calendar utc = utc();
+
+        InvoiceSetter(List<NewInvoice> chunk) { this.chunk = chunk; }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Invoice v = chunk.get(i).invoice();
+            ps.setString(1, v.getExternalId());
+            ps.setString(2, v.getType().name());
+            ps.setString(3, v.getSupplier());
+            ps.setTimestamp(4, Timestamp.from(v.getInvoiceDate()), utc);
+            ps.setString(5, v.getStatus());
+            ps.setBigDecimal(6, v.getAmount());
+            ps.setString(7, v.getReason());
+            if (v.getSourceItemId() != null) ps.setLong(8, v.getSourceItemId()); else ps.setNull(8, Types.BIGINT);
+            if (v.getOriginalId() != null) ps.setLong(9, v.getOriginalId()); else ps.setNull(9, Types.BIGINT);
+            ps.setTimestamp(10, Timestamp.from(v.getCreatedAt()), utc);
+            ps.setTimestamp(11, Timestamp.from(v.getUpdatedAt()), utc);
+        }
+
+        @Override
+        public int getBatchSize() { return chunk.size(); }
+    }
+}
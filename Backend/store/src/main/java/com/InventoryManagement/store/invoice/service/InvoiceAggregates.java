@@ -0,0 +1,315 @@
+package com.InventoryManagement.store.invoice.service;
+
+import com.InventoryManagement.store.common.projection.JournaledProjection;
+import com.InventoryManagement.store.invoice.dto.InvoiceAggregateDto;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import com.InventoryManagement.store.invoice.event.InvoiceChangeEvent;
+import com.InventoryManagement.store.invoice.repository.InvoiceScanRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Columnar in-memory copy of every invoice's grouping columns and amount (cents as long,
+// supplier and status as dictionary ids, dates as epoch day and month index, ~23 bytes a row)
+// that /api/invoices/aggregate reduces in parallel on a fork-join pool. Committed invoice
+// changes are appended as delta rows (a status move adds a -1 row for the old state and a +1 row
+// for the new one); the scheduled rebuild re-reads the table and compacts them away (see
+// JournaledProjection).
+// Reverse invoices are held as negative cents, so ungrouped totals are net of returns; grouped by
+// type, the reverse group shows the returned value as a negative amount.
+@Component
+public class InvoiceAggregates {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceAggregates.class);
+    private static final int LEAF_ROWS = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final InvoiceScanRepository scanner;
+    private final ForkJoinPool pool;
+    private final JournaledProjection<Snapshot, InvoiceChangeEvent> snapshot;
+
+    public InvoiceAggregates(InvoiceScanRepository scanner, PlatformTransactionManager txManager,
+                             @Value("${app.invoice.aggregate.parallelism:0}") int parallelism) {
+        this.scanner = scanner;
+        this.snapshot = new JournaledProjection<>("Invoice totals", new Snapshot(Instant.EPOCH), this::scan,
+                InvoiceAggregates::apply, null, txManager);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InvoiceChangeEvent event) {
+        // Appends to a snapshot's columns are single-writer
+        synchronized (this) {
+            snapshot.apply(event);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    // Until a first snapshot exists requests get 503; retry a failed seed well before the hourly rebuild
+    @Scheduled(fixedDelayString = "${app.invoice.aggregate.seed-retry-ms:60000}",
+            initialDelayString = "${app.invoice.aggregate.seed-retry-ms:60000}")
+    public void retrySeed() {
+        snapshot.retrySeed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.invoice.aggregate.rebuild-ms:3600000}",
+            initialDelayString = "${app.invoice.aggregate.rebuild-ms:3600000}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        JournaledProjection.Rebuilt<Snapshot> rebuilt = snapshot.rebuild();
+        if (rebuilt == null) return;
+        log.info("Invoice aggregation snapshot rebuilt: {} rows in {} ms", rebuilt.fresh().columns.size,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Snapshot scan() {
+        Snapshot fresh = new Snapshot(Instant.now());
+        scanner.scanAmounts((type, supplier, date, status, cents) ->
+                fresh.append(InvoiceType.valueOf(type), supplier, date, status, signed(InvoiceType.valueOf(type), cents), 1));
+        return fresh;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Totals over invoices dated in [from, to), grouped by any of supplier, month, status, type
+    public InvoiceAggregateDto aggregate(boolean bySupplier, boolean byMonth, boolean byStatus, boolean byType,
+                                         LocalDate from, LocalDate to, InvoiceType type, String status) {
+        // 503 until seeded: never scans on the request thread, the scheduled seed retry builds it
+        Snapshot s = snapshot.requireSeeded();
+        Columns c = s.columns;
+        int rows = c.size;
+        int statusId = status == null ? -1 : s.statuses.indexOf(status);
+
+        InvoiceAggregateDto dto = new InvoiceAggregateDto();
+        dto.from = from;
+        dto.to = to;
+        dto.snapshotAt = s.builtAt;
+        dto.groups = new ArrayList<>();
+        if (status != null && statusId < 0) {
+            dto.amount = BigDecimal.ZERO.setScale(2, RoundingMode.UNNECESSARY);
+            return dto;
+        }
+        Query q = new Query(bySupplier, byMonth, byStatus, byType,
+                from == null ? Integer.MIN_VALUE : (int) from.toEpochDay(),
+                to == null ? Integer.MAX_VALUE : (int) to.toEpochDay(),
+                type == null ? -1 : type.ordinal(), statusId);
+        Map<Long, long[]> totals = pool.invoke(new Reduce(c, q, 0, rows));
+
+        long invoices = 0, cents = 0;
+        for (Map.Entry<Long, long[]> e : totals.entrySet()) {
+            long[] acc = e.getValue();
+            if (acc[0] == 0 && acc[1] == 0) continue; // fully reversed by delta rows
+            invoices += acc[0];
+            cents += acc[1];
+            dto.groups.add(group(s, e.getKey(), q, acc));
+        }
+        dto.groups.sort(Comparator.comparing((InvoiceAggregateDto.Group g) -> g.month, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(g -> g.supplier, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(g -> g.status, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(g -> g.type, Comparator.nullsFirst(Comparator.naturalOrder())));
+        dto.invoices = invoices;
+        dto.amount = BigDecimal.valueOf(cents, 2);
+        return dto;
+    }
+
+    private static void apply(Snapshot s, InvoiceChangeEvent event) {
+        for (InvoiceChangeEvent.Change c : event.getChanges()) {
+            long cents = signed(c.type(), c.amount() == null ? 0 : c.amount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue());
+            if (!c.isCreated()) s.append(c.type(), c.supplier(), c.fromDate(), c.fromStatus(), -cents, -1);
+            s.append(c.type(), c.supplier(), c.toDate(), c.toStatus(), cents, 1);
+        }
+    }
+
+    // Returns are money going back: stored amounts are positive, aggregated they count against the total
+    private static long signed(InvoiceType type, long cents) {
+        return type == InvoiceType.REVERSE ? -cents : cents;
+    }
+
+    // Group key layout: supplier id + 1 in bits 32-63, month index + 1 in bits 8-31, status id + 1
+    // in bits 2-7, type ordinal + 1 in bits 0-1; a field is 0 when not grouped by
+    private static long key(Columns c, int i, Query q) {
+        long k = 0;
+        if (q.bySupplier) k |= (long) (c.supplier[i] + 1) << 32;
+        if (q.byMonth) k |= (long) (c.month[i] + 1) << 8;
+        if (q.byStatus) k |= (long) (c.status[i] + 1) << 2;
+        if (q.byType) k |= c.type[i] + 1;
+        return k;
+    }
+
+    private static InvoiceAggregateDto.Group group(Snapshot s, long key, Query q, long[] acc) {
+        InvoiceAggregateDto.Group g = new InvoiceAggregateDto.Group();
+        if (q.bySupplier) g.supplier = s.suppliers.get((int) (key >>> 32) - 1);
+        if (q.byMonth) {
+            int m = (int) ((key >>> 8) & 0xFFFFFF) - 1;
+            g.month = String.format("%04d-%02d", Math.floorDiv(m, 12), Math.floorMod(m, 12) + 1);
+        }
+        if (q.byStatus) g.status = s.statuses.get((int) ((key >>> 2) & 0x3F) - 1);
+        if (q.byType) g.type = InvoiceType.values()[(int) (key & 0x3) - 1].name().toLowerCase();
+        g.invoices = acc[0];
+        g.amount = BigDecimal.valueOf(acc[1], 2);
+        return g;
+    }
+
+    private record Query(boolean bySupplier, boolean byMonth, boolean byStatus, boolean byType,
+                         int fromDay, int toDay, int type, int status) {}
+
+    // Splits the row range until it is LEAF_ROWS or less, sums each leaf into its own map, merges upwards
+    private static final class Reduce extends RecursiveTask<Map<Long, long[]>> {
+        private final Columns c;
+        private final Query q;
+        private final int lo;
+        private final int hi;
+
+        Reduce(Columns c, Query q, int lo, int hi) {
+            this.c = c;
+            this.q = q;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (hi - lo <= LEAF_ROWS) return leaf();
+            int mid = (lo + hi) >>> 1;
+            Reduce left = new Reduce(c, q, lo, mid);
+            left.fork();
+            Map<Long, long[]> right = new Reduce(c, q, mid, hi).compute();
+            Map<Long, long[]> l = left.join();
+            Map<Long, long[]> big = l.size() >= right.size() ? l : right;
+            Map<Long, long[]> small = big == l ? right : l;
+            for (Map.Entry<Long, long[]> e : small.entrySet()) {
+                long[] acc = big.get(e.getKey());
+                if (acc == null) big.put(e.getKey(), e.getValue());
+                else {
+                    acc[0] += e.getValue()[0];
+                    acc[1] += e.getValue()[1];
+                }
+            }
+            return big;
+        }
+
+        private Map<Long, long[]> leaf() {
+            Map<Long, long[]> out = new HashMap<>();
+            for (int i = lo; i < hi; i++) {
+                int day = c.day[i];
+                if (day < q.fromDay || day >= q.toDay) continue;
+                if (q.type >= 0 && c.type[i] != q.type) continue;
+                if (q.status >= 0 && c.status[i] != q.status) continue;
+                long[] acc = out.computeIfAbsent(key(c, i, q), k -> new long[2]);
+                acc[0] += c.weight[i];
+                acc[1] += c.cents[i];
+            }
+            return out;
+        }
+    }
+
+    // One generation of the snapshot: dictionaries plus the columns they index
+    private static final class Snapshot {
+        final Instant builtAt;
+        final List<String> suppliers = new CopyOnWriteArrayList<>();
+        final List<String> statuses = new CopyOnWriteArrayList<>(); // a handful; the group key has room for 63
+        private final Map<String, Integer> supplierIds = new ConcurrentHashMap<>();
+        private final Map<String, Integer> statusIds = new ConcurrentHashMap<>();
+        volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+        Snapshot(Instant builtAt) {
+            this.builtAt = builtAt;
+        }
+
+        // Single writer at a time (the scan, or event threads under the component lock)
+        void append(InvoiceType type, String supplier, Instant date, String status, long cents, int weight) {
+            if (date == null) return;
+            int supplierId = id(supplier == null ? "" : supplier, supplierIds, suppliers);
+            int statusId = id(status, statusIds, statuses);
+            LocalDate d = date.atOffset(ZoneOffset.UTC).toLocalDate();
+            Columns c = columns;
+            if (c.size == c.cents.length) {
+                c = c.grow();
+                columns = c;
+            }
+            int i = c.size;
+            c.type[i] = (byte) type.ordinal();
+            c.supplier[i] = supplierId;
+            c.day[i] = (int) d.toEpochDay();
+            c.month[i] = d.getYear() * 12 + d.getMonthValue() - 1;
+            c.status[i] = (byte) statusId;
+            c.cents[i] = cents;
+            c.weight[i] = (byte) weight;
+            c.size = i + 1; // publishes the row to readers
+        }
+
+        private static int id(String value, Map<String, Integer> ids, List<String> names) {
+            Integer id = ids.get(value);
+            if (id != null) return id;
+            names.add(value);
+            ids.put(value, names.size() - 1);
+            return names.size() - 1;
+        }
+    }
+
+    private static final class Columns {
+        final byte[] type;
+        final int[] supplier;
+        final int[] day;
+        final int[] month;
+        final byte[] status;
+        final long[] cents;
+        final byte[] weight;
+        volatile int size;
+
+        Columns(int capacity) {
+            type = new byte[capacity];
+            supplier = new int[capacity];
+            day = new int[capacity];
+            month = new int[capacity];
+            status = new byte[capacity];
+            cents = new long[capacity];
+            weight = new byte[capacity];
+        }
+
+        // Readers holding this generation keep a consistent view up to the size they read
+        Columns grow() {
+            int n = size;
+            Columns c = new Columns(Math.max(INITIAL_CAPACITY, n + (n >> 1)));
+            System.arraycopy(type, 0, c.type, 0, n);
+            System.arraycopy(supplier, 0, c.supplier, 0, n);
+            System.arraycopy(day, 0, c.day, 0, n);
+            System.arraycopy(month, 0, c.month, 0, n);
+            System.arraycopy(status, 0, c.status, 0, n);
+            System.arraycopy(cents, 0, c.cents, 0, n);
+            System.arraycopy(weight, 0, c.weight, 0, n);
+            c.size = n;
+            return c;
+        }
+    }
+}
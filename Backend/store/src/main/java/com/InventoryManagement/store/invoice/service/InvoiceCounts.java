@@ -0,0 +1,127 @@
+package com.InventoryManagement.store.invoice.service;
+
+import com.InventoryManagement.store.common.projection.JournaledProjection;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import com.InventoryManagement.store.invoice.event.InvoiceChangeEvent;
+import com.InventoryManagement.store.invoice.repository.InvoiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Invoice totals per (type, status) for the paged listing, so a page costs no count(*).
+// Committed InvoiceChangeEvents move the counters; a scheduled reconcile re-reads the grouped
+// counts, logs any drift and replaces them (see JournaledProjection).
+@Component
+public class InvoiceCounts {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceCounts.class);
+
+    private final InvoiceRepository repo;
+    private final InvoiceWatermark watermark;
+    private final JournaledProjection<Counters, InvoiceChangeEvent> counters;
+
+    public InvoiceCounts(InvoiceRepository repo, PlatformTransactionManager txManager, InvoiceWatermark watermark) {
+        this.repo = repo;
+        this.watermark = watermark;
+        // Page totals come from here, so corrected counts must invalidate cached listings
+        this.counters = new JournaledProjection<>("Invoice counts", new Counters(), this::load, InvoiceCounts::apply,
+                (memory, db) -> { if (reportDrift(memory, db)) watermark.bump(); }, txManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InvoiceChangeEvent event) {
+        counters.apply(event);
+        // After the totals move, so a listing tagged with the new watermark carries the new total
+        watermark.bump();
+    }
+
+    // False until the first reconcile succeeds; callers must not rely on total() before that
+    public boolean isSeeded() { return counters.isSeeded(); }
+
+    // Invoices of this type, narrowed to one status unless status is null. Never queries: before
+    // the first reconcile callers fall back to count-free paging (see InvoiceServiceImpl.list).
+    public long total(InvoiceType type, String status) {
+        Counters c = counters.current();
+        if (status != null) return Math.max(0, c.count(type, status));
+        long sum = 0;
+        for (var e : c.counts.entrySet()) {
+            if (e.getKey().type() == type) sum += e.getValue().sum();
+        }
+        return Math.max(0, sum);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    // A failed startup seed is retried well before the regular reconcile, never on a request
+    @Scheduled(fixedDelayString = "${app.invoice.counts.seed-retry-ms:60000}",
+            initialDelayString = "${app.invoice.counts.seed-retry-ms:60000}")
+    public void retrySeed() {
+        counters.retrySeed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.invoice.counts.reconcile-ms:300000}",
+            initialDelayString = "${app.invoice.counts.reconcile-ms:300000}")
+    public void reconcile() {
+        counters.rebuild();
+    }
+
+    private Counters load() {
+        Counters fromDb = new Counters();
+        for (InvoiceRepository.StatusCount row : repo.countByTypeAndStatus()) {
+            fromDb.add(row.getType(), row.getStatus(), row.getTotal() == null ? 0 : row.getTotal());
+        }
+        return fromDb;
+    }
+
+    private static void apply(Counters c, InvoiceChangeEvent event) {
+        for (InvoiceChangeEvent.Change change : event.getChanges()) {
+            if (!change.isCreated()) c.add(change.type(), change.fromStatus(), -1);
+            c.add(change.type(), change.toStatus(), 1);
+        }
+    }
+
+    private static boolean reportDrift(Counters memory, Counters db) {
+        Set<Key> keys = new HashSet<>(db.counts.keySet());
+        keys.addAll(memory.counts.keySet());
+        List<String> drift = new ArrayList<>();
+        for (Key k : keys) {
+            long d = db.count(k.type(), k.status()) - memory.count(k.type(), k.status());
+            if (d != 0) drift.add(k.type().name().toLowerCase() + "/" + k.status().toLowerCase() + "=" + d);
+        }
+        if (!drift.isEmpty()) {
+            log.warn("Invoice count drift corrected: {}", String.join(", ", drift));
+        }
+        return !drift.isEmpty();
+    }
+
+    private record Key(InvoiceType type, String status) {}
+
+    private static final class Counters {
+        final ConcurrentHashMap<Key, LongAdder> counts = new ConcurrentHashMap<>();
+
+        void add(InvoiceType type, String status, long delta) {
+            counts.computeIfAbsent(new Key(type, status), k -> new LongAdder()).add(delta);
+        }
+
+        long count(InvoiceType type, String status) {
+            LongAdder a = counts.get(new Key(type, status));
+            return a == null ? 0 : a.sum();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.InventoryManagement.store.invoice.service;
+
+import com.InventoryManagement.store.common.cache.BoundedCache;
+import com.InventoryManagement.store.invoice.dto.InvoiceDto;
+import com.InventoryManagement.store.invoice.event.InvoiceChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Recently fetched invoices by external id, for ERP reconciliation. Entries are dropped once a
+// change to the invoice commits. A load that overlapped an invalidation is returned but not
+// cached, so a read of the old row can never be put back after the change was evicted.
+@Component
+public class InvoiceLookupCache {
+
+    private final BoundedCache<String, InvoiceDto> byExternalId;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public InvoiceLookupCache(@Value("${app.invoice.lookup-cache.max-entries:10000}") int maxEntries) {
+        this.byExternalId = new BoundedCache<>(maxEntries);
+    }
+
+    public InvoiceDto get(String externalId, Supplier<InvoiceDto> loader) {
+        InvoiceDto cached = byExternalId.get(externalId);
+        if (cached != null) return cached;
+        long seen = invalidations.get();
+        InvoiceDto loaded = loader.get();
+        if (loaded != null && invalidations.get() == seen) byExternalId.put(externalId, loaded);
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(InvoiceChangeEvent event) {
+        invalidations.incrementAndGet();
+        for (InvoiceChangeEvent.Change change : event.getChanges()) {
+            if (change.externalId() != null) byExternalId.invalidate(change.externalId());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.InventoryManagement.store.invoice.service;
+
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.invoice.entity.Invoice;
+import com.InventoryManagement.store.invoice.entity.InvoiceItem;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import com.InventoryManagement.store.invoice.event.InvoiceChangeEvent;
+import com.InventoryManagement.store.invoice.repository.InvoiceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Raises an incoming invoice for every inventory submission and keeps its status in step with
+// approve/reject. Runs inside the inventory transaction (plain @EventListener), so an item and
+// its invoice commit or roll back together.
+@Component
+public class InvoiceRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceRecorder.class);
+    private static final long BACKFILL_CHUNK_IDS = 10_000;
+
+    private final InvoiceWriter writer;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final InvoiceWatermark watermark;
+
+    public InvoiceRecorder(InvoiceWriter writer, ApplicationEventPublisher events, PlatformTransactionManager txManager,
+                           InvoiceWatermark watermark) {
+        this.writer = writer;
+        this.events = events;
+        this.watermark = watermark;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    public static String incomingExternalId(String sku) {
+        return "SUB-" + sku;
+    }
+
+    @EventListener
+    public void onInventoryChange(InventoryChangeEvent event) {
+        Instant now = Instant.now();
+        List<InvoiceChangeEvent.Change> published = new ArrayList<>(event.getItems().size());
+        if (event.getKind() == InventoryChangeEvent.Kind.CREATED) {
+            List<InvoiceWriter.NewInvoice> invoices = new ArrayList<>(event.getItems().size());
+            for (InventoryResponse item : event.getItems()) {
+                InvoiceWriter.NewInvoice n = incoming(item, now);
+                invoices.add(n);
+                Invoice v = n.invoice();
+                published.add(new InvoiceChangeEvent.Change(InvoiceType.INCOMING, v.getExternalId(), v.getSupplier(),
+                        v.getAmount(), null, null, v.getStatus(), v.getInvoiceDate()));
+            }
+            writer.insertAll(invoices);
+        } else {
+            List<InvoiceWriter.StatusChange> changes = new ArrayList<>(event.getItems().size());
+            for (InventoryResponse item : event.getItems()) {
+                Instant date = item.getApprovedAt() != null ? item.getApprovedAt() : now;
+                changes.add(new InvoiceWriter.StatusChange(item.getId(), item.getStatus(), date));
+                // Only pending submissions can be approved or rejected; until then the invoice was dated at submission
+                published.add(new InvoiceChangeEvent.Change(InvoiceType.INCOMING, incomingExternalId(item.getSku()),
+                        supplierOf(item), amountOf(item), "PENDING", item.getCreatedAt(), item.getStatus(), date));
+            }
+            writer.updateStatus(InvoiceType.INCOMING, changes, now);
+        }
+        events.publishEvent(new InvoiceChangeEvent(published));
+    }
+
+    // Submissions made before invoices were persisted get theirs on the first start, in id ranges
+    // so no single statement holds locks for long
+    // Runs before the other ApplicationReadyEvent listeners, so projections seeded there include these rows
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        try {
+            long max = writer.maxInventoryId();
+            Instant now = Instant.now();
+            int created = 0;
+            for (long from = 0; from < max; from += BACKFILL_CHUNK_IDS) {
+                long lo = from, hi = Math.min(max, from + BACKFILL_CHUNK_IDS);
+                Integer n = tx.execute(s -> writer.backfillIncoming(lo, hi, now));
+                created += n == null ? 0 : n;
+                if (n != null && n > 0) watermark.bump();
+            }
+            if (created > 0) log.info("Backfilled {} incoming invoices", created);
+        } catch (RuntimeException e) {
+            log.warn("Incoming invoice backfill failed, it will be retried on the next start", e);
+        }
+    }
+
+    private static InvoiceWriter.NewInvoice incoming(InventoryResponse item, Instant now) {
+        int qty = item.getQuantity() == null ? 0 : item.getQuantity();
+        BigDecimal unitPrice = item.getUnitPrice() == null ? BigDecimal.ZERO : item.getUnitPrice();
+        BigDecimal total = amountOf(item);
+
+        InvoiceItem line = new InvoiceItem();
+        line.setLineNo(1);
+        line.setSku(item.getSku());
+        line.setName(item.getName());
+        line.setQuantity(qty);
+        line.setUnitPrice(unitPrice);
+        line.setLineTotal(total);
+
+        Invoice v = new Invoice();
+        v.setExternalId(incomingExternalId(item.getSku()));
+        v.setType(InvoiceType.INCOMING);
+        v.setSupplier(supplierOf(item));
+        v.setInvoiceDate(item.getCreatedAt() != null ? item.getCreatedAt() : now);
+        v.setStatus(item.getStatus());
+        v.setAmount(total);
+        v.setSourceItemId(item.getId());
+        // Same (created_at, id) order as the submissions themselves
+        v.setCreatedAt(item.getCreatedAt() != null ? item.getCreatedAt() : now);
+        v.setUpdatedAt(now);
+        return new InvoiceWriter.NewInvoice(v, List.of(line));
+    }
+
+    private static String supplierOf(InventoryResponse item) {
+        return item.getCreatedBy() == null || item.getCreatedBy().isBlank() ? "Submission" : item.getCreatedBy();
+    }
+
+    private static BigDecimal amountOf(InventoryResponse item) {
+        int qty = item.getQuantity() == null ? 0 : item.getQuantity();
+        BigDecimal unitPrice = item.getUnitPrice() == null ? BigDecimal.ZERO : item.getUnitPrice();
+        return unitPrice.multiply(BigDecimal.valueOf(qty)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
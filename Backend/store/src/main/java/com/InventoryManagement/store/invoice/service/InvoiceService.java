@@ -1,9 +1,25 @@
 package com.InventoryManagement.store.invoice.service;
 
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.invoice.dto.InvoiceAggregateDto;
 import com.InventoryManagement.store.invoice.dto.InvoiceDto;
+import com.InventoryManagement.store.invoice.dto.InvoiceExportRow;
+import com.InventoryManagement.store.invoice.dto.ReverseInvoiceRequest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
 
 public interface InvoiceService {
     Page<InvoiceDto> list(String type, String status, int page, int size);
+    Slice<InvoiceDto> listSlice(String type, String status, int page, int size);
+    CursorPage<InvoiceDto> listByCursor(String type, String status, String cursor, Integer limit);
+    void streamAll(String type, String status, Consumer<InvoiceDto> sink);
+    void streamExport(LocalDate from, LocalDate to, String type, String status, Consumer<InvoiceExportRow> sink);
     InvoiceDto get(long id);
+    Long versionOf(long id);
+    InvoiceDto getByExternalId(String externalId);
+    InvoiceDto createReverse(ReverseInvoiceRequest req);
+    InvoiceAggregateDto aggregate(String groupBy, LocalDate from, LocalDate to, String type, String status);
 }
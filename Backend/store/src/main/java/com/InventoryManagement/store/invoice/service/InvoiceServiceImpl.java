@@ -1,93 +1,417 @@
 package com.InventoryManagement.store.invoice.service;
 
+import com.InventoryManagement.store.common.paging.Cursor;
+import com.InventoryManagement.store.common.paging.CursorPage;
+import com.InventoryManagement.store.invoice.dto.InvoiceAggregateDto;
 import com.InventoryManagement.store.invoice.dto.InvoiceDto;
+import com.InventoryManagement.store.invoice.dto.InvoiceExportRow;
 import com.InventoryManagement.store.invoice.dto.InvoiceItemDto;
-import com.InventoryManagement.store.inventory.entity.InventoryItem;
-import com.InventoryManagement.store.inventory.entity.InventoryStatus;
-import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import com.InventoryManagement.store.invoice.dto.ReverseInvoiceRequest;
+import com.InventoryManagement.store.invoice.entity.Invoice;
+import com.InventoryManagement.store.invoice.entity.InvoiceItem;
+import com.InventoryManagement.store.invoice.entity.InvoiceType;
+import com.InventoryManagement.store.invoice.repository.InvoiceItemRepository;
+import com.InventoryManagement.store.invoice.event.InvoiceChangeEvent;
+import com.InventoryManagement.store.invoice.repository.InvoiceRepository;
+import com.InventoryManagement.store.invoice.repository.InvoiceScanRepository;
+import com.InventoryManagement.store.invoice.repository.InvoiceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class InvoiceServiceImpl implements InvoiceService {
 
-    private final InventoryItemRepository inventoryRepo;
+    // Invoices read per keyset step while streaming; their lines come in one IN query per step
+    private static final int STREAM_CHUNK = 500;
+    // Invoices per export chunk (one query each, lines joined in)
+    private static final int EXPORT_CHUNK = 1000;
+    private static final int MAX_REVERSE_LINES = 500;
+    private static final int MAX_REASON = 500;
+    private static final String REVERSE_STATUS = "ISSUED";
+    private static final List<String> AGGREGATE_GROUPS = List.of("supplier", "month", "status", "type");
 
-    public InvoiceServiceImpl(InventoryItemRepository inventoryRepo) {
-        this.inventoryRepo = inventoryRepo;
+    private final InvoiceRepository invoiceRepo;
+    private final InvoiceItemRepository itemRepo;
+    private final InvoiceCounts counts;
+    private final InvoiceAggregates aggregates;
+    private final InvoiceWriter writer;
+    private final InvoiceScanRepository scanner;
+    private final InvoiceLookupCache lookups;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate readTx;
+    private final EntityManager entityManager;
+
+    public InvoiceServiceImpl(InvoiceRepository invoiceRepo, InvoiceItemRepository itemRepo, InvoiceCounts counts,
+                              InvoiceAggregates aggregates, InvoiceWriter writer, InvoiceScanRepository scanner,
+                              InvoiceLookupCache lookups, ApplicationEventPublisher events, PlatformTransactionManager txManager,
+                              EntityManager entityManager) {
+        this.invoiceRepo = invoiceRepo;
+        this.itemRepo = itemRepo;
+        this.counts = counts;
+        this.aggregates = aggregates;
+        this.writer = writer;
+        this.scanner = scanner;
+        this.lookups = lookups;
+        this.events = events;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.entityManager = entityManager;
     }
 
+    // Offset page whose total comes from InvoiceCounts: one indexed query, no count(*)
     @Override
     @Transactional(readOnly = true)
     public Page<InvoiceDto> list(String type, String status, int page, int size) {
-        boolean incoming = (type == null || type.isBlank() || "incoming".equalsIgnoreCase(type));
-        if (!incoming) {
-            return Page.empty(); // only incoming synthesized for now
+        InvoiceType t = parseType(type);
+        if (t == null) {
+            return Page.empty();
         }
-        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size));
-        Page<InventoryItem> p;
-        InventoryStatus st = parseStatus(status);
-        if (st != null) {
-            p = inventoryRepo.findByStatusOrderByCreatedAtDesc(st, pageable);
-        } else {
-            p = inventoryRepo.findAllByOrderByCreatedAtDesc(pageable);
+        String st = parseStatus(status);
+        Slice<Invoice> s = slice(t, st, page, size);
+        // Counters not seeded yet (failed startup reconcile): report what the slice proves, i.e. this
+        // page plus one more when there is a next, rather than running a count on the request
+        long total = counts.isSeeded()
+                ? counts.total(t, st)
+                : s.getPageable().getOffset() + s.getNumberOfElements() + (s.hasNext() ? 1 : 0);
+        return new PageImpl<>(toDtos(s.getContent()), s.getPageable(), total);
+    }
+
+    // Same page without a total; hasNext comes from one extra row
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<InvoiceDto> listSlice(String type, String status, int page, int size) {
+        InvoiceType t = parseType(type);
+        if (t == null) {
+            return new SliceImpl<>(List.of());
+        }
+        Slice<Invoice> s = slice(t, parseStatus(status), page, size);
+        return new SliceImpl<>(toDtos(s.getContent()), s.getPageable(), s.hasNext());
+    }
+
+    // Keyset variant of list: cost per page stays flat however deep the client pages
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InvoiceDto> listByCursor(String type, String status, String cursor, Integer limit) {
+        InvoiceType t = parseType(type);
+        if (t == null) {
+            return new CursorPage<>(List.of(), null);
+        }
+        Cursor after = Cursor.decode(cursor);
+        int size = CursorPage.limit(limit);
+        List<Invoice> rows = page(t, parseStatus(status), after, size + 1);
+        Map<Long, List<InvoiceItem>> lines = linesOf(rows.subList(0, Math.min(size, rows.size())));
+        return CursorPage.of(rows, size, v -> new Cursor(v.getCreatedAt(), v.getId()), v -> toDto(v, lines.get(v.getId())));
+    }
+
+    // Unpaged listing handed to the sink chunk by chunk, each chunk one keyset query plus one
+    // query for its lines in its own short read-only transaction. The chunk is mapped to DTOs and
+    // its entities detached before the transaction ends (open-in-view would otherwise keep them
+    // all managed), and the DTOs go to the sink afterwards, so heap holds one chunk and no
+    // connection is held while a slow client drains the response.
+    @Override
+    public void streamAll(String type, String status, Consumer<InvoiceDto> sink) {
+        InvoiceType t = parseType(type);
+        if (t == null) return;
+        String st = parseStatus(status);
+        Cursor after = null;
+        while (true) {
+            Cursor from = after;
+            StreamChunk chunk = readTx.execute(s -> {
+                List<Invoice> rows = page(t, st, from, STREAM_CHUNK);
+                Invoice last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+                StreamChunk c = new StreamChunk(toDtos(rows), last == null ? null : new Cursor(last.getCreatedAt(), last.getId()));
+                entityManager.clear();
+                return c;
+            });
+            if (chunk == null || chunk.rows().isEmpty()) return;
+            chunk.rows().forEach(sink);
+            if (chunk.rows().size() < STREAM_CHUNK) return;
+            after = chunk.next();
+        }
+    }
+
+    private record StreamChunk(List<InvoiceDto> rows, Cursor next) {}
+
+    // Export for auditors: invoices dated in [from, to) with their lines, in creation order. Each chunk
+    // is one short read-only transaction; rows are handed to the sink after it ends, so no
+    // connection is held while a slow client drains the response, and memory holds one chunk.
+    @Override
+    public void streamExport(LocalDate from, LocalDate to, String type, String status, Consumer<InvoiceExportRow> sink) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        InvoiceType t = null;
+        if (type != null && !type.isBlank()) {
+            t = parseType(type);
+            if (t == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown invoice type");
+        }
+        Instant fromAt = from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant toAt = to == null ? null : to.atStartOfDay(ZoneOffset.UTC).toInstant();
+        String typeName = t == null ? null : t.name();
+        String st = parseStatus(status);
+        Instant afterCreatedAt = null;
+        long afterId = 0;
+        while (true) {
+            Instant ad = afterCreatedAt;
+            long ai = afterId;
+            List<InvoiceExportRow> rows = readTx.execute(s -> scanner.exportChunk(fromAt, toAt, typeName, st, ad, ai, EXPORT_CHUNK));
+            if (rows == null || rows.isEmpty()) return;
+            rows.forEach(sink);
+            InvoiceExportRow last = rows.get(rows.size() - 1);
+            afterCreatedAt = last.createdAt;
+            afterId = last.invoiceId;
+            if (countInvoices(rows) < EXPORT_CHUNK) return;
         }
-        List<InvoiceDto> content = p.getContent().stream()
-                .map(this::fromInventory)
-                .sorted(Comparator.comparing((InvoiceDto d) -> d.date == null ? Instant.EPOCH : d.date).reversed())
-                .collect(Collectors.toList());
-        return new PageImpl<>(content, pageable, p.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
     public InvoiceDto get(long id) {
-        InventoryItem i = inventoryRepo.findById(id)
+        Invoice v = invoiceRepo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Invoice not found"));
-        return fromInventory(i);
+        return toDto(v, itemRepo.findByInvoiceIds(List.of(v.getId())));
     }
 
-    private InventoryStatus parseStatus(String s) {
-        if (s == null || s.isBlank()) return null;
+    @Override
+    @Transactional(readOnly = true)
+    public Long versionOf(long id) {
+        return invoiceRepo.findVersionById(id).orElse(null);
+    }
+
+    // One unique-index read on a cache miss; not @Transactional so hits never touch a connection
+    @Override
+    public InvoiceDto getByExternalId(String externalId) {
+        String key = externalId == null ? "" : externalId.trim();
+        if (key.isEmpty()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "externalId is required");
+        InvoiceDto dto = lookups.get(key, () -> readTx.execute(s -> invoiceRepo.findByExternalId(key)
+                .map(v -> toDto(v, itemRepo.findByInvoiceIds(List.of(v.getId()))))
+                .orElse(null)));
+        if (dto == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Invoice not found");
+        return dto;
+    }
+
+    // Returns goods against an approved incoming invoice. The original row is locked so concurrent
+    // returns against it cannot together exceed the quantities it was raised for.
+    @Override
+    @Transactional
+    public InvoiceDto createReverse(ReverseInvoiceRequest req) {
+        if (req == null || req.items == null || req.items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No items supplied");
+        }
+        if (req.items.size() > MAX_REVERSE_LINES) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + MAX_REVERSE_LINES + " lines per reverse invoice");
+        }
+        String reason = req.reason == null ? null : req.reason.trim();
+        if (reason != null && reason.length() > MAX_REASON) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "reason is longer than " + MAX_REASON + " characters");
+        }
+        Long originalId = req.originalId;
+        if (originalId == null && req.originalExternalId != null && !req.originalExternalId.isBlank()) {
+            originalId = invoiceRepo.findByExternalId(req.originalExternalId.trim()).map(Invoice::getId).orElse(null);
+        }
+        if (originalId == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Original invoice not found");
+        Invoice original = invoiceRepo.lockById(originalId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Original invoice not found"));
+        if (original.getType() != InvoiceType.INCOMING || !"APPROVED".equals(original.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only approved incoming invoices can be reversed");
+        }
+
+        // Merge repeated SKUs, then check each against what is left to return
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (ReverseInvoiceRequest.Line line : req.items) {
+            if (line == null || line.sku == null || line.sku.isBlank() || line.qty <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each line needs a sku and a quantity > 0");
+            }
+            requested.merge(line.sku.trim(), line.qty, Math::addExact);
+        }
+        Map<String, InvoiceItem> originalLines = new HashMap<>();
+        for (InvoiceItem l : itemRepo.findByInvoiceIds(List.of(original.getId()))) originalLines.put(l.getSku(), l);
+        Map<String, Long> returned = new HashMap<>();
+        for (InvoiceItemRepository.SkuQuantity r : itemRepo.returnedByOriginal(original.getId())) {
+            returned.put(r.getSku(), r.getQuantity() == null ? 0 : r.getQuantity());
+        }
+
+        Instant now = Instant.now();
+        List<InvoiceItem> lines = new ArrayList<>(requested.size());
+        BigDecimal amount = BigDecimal.ZERO.setScale(2, RoundingMode.UNNECESSARY);
+        for (Map.Entry<String, Integer> e : requested.entrySet()) {
+            InvoiceItem from = originalLines.get(e.getKey());
+            if (from == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "SKU " + e.getKey() + " is not on invoice " + original.getExternalId());
+            }
+            long left = from.getQuantity() - returned.getOrDefault(e.getKey(), 0L);
+            if (e.getValue() > left) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Only " + left + " of " + e.getKey() + " left to return");
+            }
+            InvoiceItem line = new InvoiceItem();
+            line.setLineNo(lines.size() + 1);
+            line.setSku(from.getSku());
+            line.setName(from.getName());
+            line.setQuantity(e.getValue());
+            line.setUnitPrice(from.getUnitPrice());
+            line.setLineTotal(from.getUnitPrice().multiply(BigDecimal.valueOf(e.getValue())).setScale(2, RoundingMode.HALF_UP));
+            amount = amount.add(line.getLineTotal());
+            lines.add(line);
+        }
+
+        Invoice v = new Invoice();
+        v.setExternalId("REV-" + original.getExternalId() + "-" + (invoiceRepo.countByOriginalId(original.getId()) + 1));
+        v.setType(InvoiceType.REVERSE);
+        v.setSupplier(original.getSupplier());
+        v.setInvoiceDate(now);
+        v.setStatus(REVERSE_STATUS);
+        v.setAmount(amount);
+        v.setReason(reason == null || reason.isEmpty() ? null : reason);
+        v.setSourceItemId(original.getSourceItemId());
+        v.setOriginalId(original.getId());
+        v.setCreatedAt(now);
+        v.setUpdatedAt(now);
+        writer.insertAll(List.of(new InvoiceWriter.NewInvoice(v, lines)));
+        events.publishEvent(new InvoiceChangeEvent(List.of(new InvoiceChangeEvent.Change(InvoiceType.REVERSE,
+                v.getExternalId(), v.getSupplier(), v.getAmount(), null, null, v.getStatus(), v.getInvoiceDate()))));
+        return toDto(v, lines);
+    }
+
+    // Served from the in-memory columnar snapshot, not a GROUP BY per request
+    @Override
+    public InvoiceAggregateDto aggregate(String groupBy, LocalDate from, LocalDate to, String type, String status) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        Set<String> groups = new LinkedHashSet<>();
+        if (groupBy != null) {
+            for (String g : groupBy.split(",")) {
+                String name = g.trim().toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) continue;
+                if (!AGGREGATE_GROUPS.contains(name)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy accepts " + String.join(", ", AGGREGATE_GROUPS));
+                }
+                groups.add(name);
+            }
+        }
+        InvoiceType t = null;
+        if (type != null && !type.isBlank()) {
+            t = parseType(type);
+            if (t == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown invoice type");
+        }
+        InvoiceAggregateDto dto = aggregates.aggregate(groups.contains("supplier"), groups.contains("month"),
+                groups.contains("status"), groups.contains("type"), from, to, t, parseStatus(status));
+        dto.groupBy = new ArrayList<>(groups);
+        return dto;
+    }
+
+    private static int countInvoices(List<InvoiceExportRow> rows) {
+        int n = 0;
+        long previous = Long.MIN_VALUE;
+        for (InvoiceExportRow r : rows) {
+            if (r.invoiceId != previous) n++;
+            previous = r.invoiceId;
+        }
+        return n;
+    }
+
+    private Slice<Invoice> slice(InvoiceType type, String status, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, size));
+        return status != null
+                ? invoiceRepo.findSliceByStatus(type, status, pageable)
+                : invoiceRepo.findSlice(type, pageable);
+    }
+
+    private List<Invoice> page(InvoiceType type, String status, Cursor after, int limit) {
+        PageRequest window = PageRequest.of(0, limit);
+        if (status != null) {
+            return after == null
+                    ? invoiceRepo.pageByTypeAndStatus(type, status, window)
+                    : invoiceRepo.pageByTypeAndStatusAfter(type, status, after.getCreatedAt(), after.getId(), window);
+        }
+        return after == null
+                ? invoiceRepo.pageByType(type, window)
+                : invoiceRepo.pageByTypeAfter(type, after.getCreatedAt(), after.getId(), window);
+    }
+
+    // Null means "no such type": the listing is empty rather than unfiltered
+    private InvoiceType parseType(String s) {
+        if (s == null || s.isBlank()) return InvoiceType.INCOMING;
         try {
-            return InventoryStatus.valueOf(s.trim().toUpperCase(Locale.ROOT));
-        } catch (Exception e) {
+            return InvoiceType.valueOf(s.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
 
-    private InvoiceDto fromInventory(InventoryItem i) {
+    private String parseStatus(String s) {
+        if (s == null || s.isBlank()) return null;
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private List<InvoiceDto> toDtos(List<Invoice> invoices) {
+        Map<Long, List<InvoiceItem>> lines = linesOf(invoices);
+        List<InvoiceDto> out = new ArrayList<>(invoices.size());
+        for (Invoice v : invoices) out.add(toDto(v, lines.get(v.getId())));
+        return out;
+    }
+
+    // Lines for the whole list in one query instead of one per invoice
+    private Map<Long, List<InvoiceItem>> linesOf(List<Invoice> invoices) {
+        if (invoices.isEmpty()) return Map.of();
+        List<Long> ids = new ArrayList<>(invoices.size());
+        for (Invoice v : invoices) ids.add(v.getId());
+        Map<Long, List<InvoiceItem>> out = new HashMap<>();
+        for (InvoiceItem line : itemRepo.findByInvoiceIds(ids)) {
+            out.computeIfAbsent(line.getInvoiceId(), k -> new ArrayList<>()).add(line);
+        }
+        return out;
+    }
+
+    private InvoiceDto toDto(Invoice v, List<InvoiceItem> lines) {
         InvoiceDto d = new InvoiceDto();
-        d.id = i.getId() == null ? null : -Math.abs(i.getId());
-        d.externalId = (i.getSku() != null && !i.getSku().isBlank()) ? ("SUB-" + i.getSku()) : (i.getId() == null ? "SUB" : ("SUB-" + i.getId()));
-        d.type = "incoming";
-        d.supplier = (i.getCreatedBy() == null || i.getCreatedBy().isBlank()) ? "Submission" : i.getCreatedBy();
-        d.date = i.getApprovedAt() != null ? i.getApprovedAt() : i.getCreatedAt();
-        d.status = i.getStatus() == null ? null : i.getStatus().name();
-        BigDecimal lineTotal = (i.getUnitPrice() == null || i.getQuantity() == null)
-                ? BigDecimal.ZERO
-                : i.getUnitPrice().multiply(BigDecimal.valueOf(i.getQuantity()));
-        d.amount = lineTotal;
-        d.reason = null;
-        InvoiceItemDto line = new InvoiceItemDto();
-        line.id = i.getSku();
-        line.name = i.getName();
-        line.qty = i.getQuantity() == null ? 0 : i.getQuantity();
-        line.cost = lineTotal;
-        d.items = List.of(line);
+        d.id = v.getId();
+        d.externalId = v.getExternalId();
+        d.type = v.getType().name().toLowerCase(Locale.ROOT);
+        d.supplier = v.getSupplier();
+        d.date = v.getInvoiceDate();
+        d.status = v.getStatus();
+        d.amount = v.getAmount();
+        d.reason = v.getReason();
+        List<InvoiceItemDto> items = new ArrayList<>(lines == null ? 0 : lines.size());
+        if (lines != null) {
+            for (InvoiceItem l : lines) {
+                InvoiceItemDto line = new InvoiceItemDto();
+                line.id = l.getSku();
+                line.name = l.getName();
+                line.qty = l.getQuantity();
+                line.cost = l.getLineTotal();
+                items.add(line);
+            }
+        }
+        d.items = items;
         return d;
     }
 }
@@ -0,0 +1,14 @@
+package com.InventoryManagement.store.invoice.service;
+
+import com.InventoryManagement.store.common.web.ChangeWatermark;
+import org.springframework.stereotype.Component;
+
+// ETag source for the invoice listings. InvoiceCounts bumps it after applying a committed change
+// (page totals come from there), as do the startup backfill and a reconcile that corrects totals.
+@Component
+public class InvoiceWatermark extends ChangeWatermark {
+
+    public InvoiceWatermark() {
+        super("invoices");
+    }
+}
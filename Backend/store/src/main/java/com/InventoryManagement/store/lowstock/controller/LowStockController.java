@@ -0,0 +1,48 @@
+package com.InventoryManagement.store.lowstock.controller;
+
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdDto;
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdRequest;
+import com.InventoryManagement.store.lowstock.dto.StockLowRow;
+import com.InventoryManagement.store.lowstock.service.LowStockService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/lowstock")
+public class LowStockController {
+
+    private final LowStockService service;
+
+    public LowStockController(LowStockService service) { this.service = service; }
+
+    @GetMapping("/thresholds")
+    @PreAuthorize("hasAnyRole('CHECKER','MANAGER')")
+    public ResponseEntity<List<LowStockThresholdDto>> listThresholds() {
+        return ResponseEntity.ok(service.listThresholds());
+    }
+
+    // Creates or replaces the threshold for one SKU (scope ITEM) or category (scope CATEGORY)
+    @PutMapping("/thresholds")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<LowStockThresholdDto> putThreshold(@RequestBody LowStockThresholdRequest req, Authentication auth) {
+        return ResponseEntity.ok(service.putThreshold(req, auth != null ? auth.getName() : "system"));
+    }
+
+    @DeleteMapping("/thresholds")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<Void> deleteThreshold(@RequestParam String scope, @RequestParam String key) {
+        service.deleteThreshold(scope, key);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Stock locations (warehouse or shelf) currently below their threshold
+    @GetMapping("/stock")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<List<StockLowRow>> listStockLow() {
+        return ResponseEntity.ok(service.listStockLow());
+    }
+}
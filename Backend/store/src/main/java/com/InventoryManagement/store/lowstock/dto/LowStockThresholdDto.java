@@ -0,0 +1,29 @@
+package com.InventoryManagement.store.lowstock.dto;
+
+import com.InventoryManagement.store.lowstock.entity.LowStockThreshold;
+
+import java.time.Instant;
+
+public class LowStockThresholdDto {
+    private String scope;
+    private String key;
+    private int threshold;
+    private String updatedBy;
+    private Instant updatedAt;
+
+    public static LowStockThresholdDto from(LowStockThreshold t) {
+        LowStockThresholdDto d = new LowStockThresholdDto();
+        d.scope = t.getScope().name();
+        d.key = t.getLabel();
+        d.threshold = t.getThreshold();
+        d.updatedBy = t.getUpdatedBy();
+        d.updatedAt = t.getUpdatedAt();
+        return d;
+    }
+
+    public String getScope() { return scope; }
+    public String getKey() { return key; }
+    public int getThreshold() { return threshold; }
+    public String getUpdatedBy() { return updatedBy; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,16 @@
+package com.InventoryManagement.store.lowstock.dto;
+
+public class LowStockThresholdRequest {
+    private String scope;   // ITEM | CATEGORY
+    private String key;     // SKU for ITEM, category name for CATEGORY
+    private Integer threshold;
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+}
@@ -0,0 +1,27 @@
+package com.InventoryManagement.store.lowstock.dto;
+
+// A stock location (warehouse or shelf) of one stock item currently below its threshold
+public class StockLowRow {
+    private final long itemId;
+    private final String category;
+    private final String item;
+    private final String location;
+    private final long quantity;
+    private final int threshold;
+
+    public StockLowRow(long itemId, String category, String item, String location, long quantity, int threshold) {
+        this.itemId = itemId;
+        this.category = category;
+        this.item = item;
+        this.location = location;
+        this.quantity = quantity;
+        this.threshold = threshold;
+    }
+
+    public long getItemId() { return itemId; }
+    public String getCategory() { return category; }
+    public String getItem() { return item; }
+    public String getLocation() { return location; }
+    public long getQuantity() { return quantity; }
+    public int getThreshold() { return threshold; }
+}
@@ -0,0 +1,58 @@
+package com.InventoryManagement.store.lowstock.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// A configured low-stock threshold: quantities below it count as low stock
+@Entity
+@Table(name = "low_stock_thresholds", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_low_stock_threshold_scope_key", columnNames = {"scope", "match_key"})
+})
+public class LowStockThreshold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ThresholdScope scope;
+
+    // Trimmed, lower-cased SKU or category; see LowStockThresholds.keyOf
+    @Column(name = "match_key", nullable = false, length = 100)
+    private String matchKey;
+
+    // The SKU or category as entered
+    @Column(nullable = false, length = 100)
+    private String label;
+
+    @Column(nullable = false)
+    private int threshold;
+
+    @Column(name = "updated_by", length = 100)
+    private String updatedBy;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public ThresholdScope getScope() { return scope; }
+    public void setScope(ThresholdScope scope) { this.scope = scope; }
+
+    public String getMatchKey() { return matchKey; }
+    public void setMatchKey(String matchKey) { this.matchKey = matchKey; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public String getUpdatedBy() { return updatedBy; }
+    public void setUpdatedBy(String updatedBy) { this.updatedBy = updatedBy; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
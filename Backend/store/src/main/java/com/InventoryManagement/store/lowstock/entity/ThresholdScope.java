@@ -0,0 +1,8 @@
+package com.InventoryManagement.store.lowstock.entity;
+
+// ITEM thresholds match by SKU (inventory items, and stock rows that carry a sku);
+// CATEGORY thresholds match by category, case-insensitively
+public enum ThresholdScope {
+    ITEM,
+    CATEGORY
+}
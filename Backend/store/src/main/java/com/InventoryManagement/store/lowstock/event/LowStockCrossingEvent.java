@@ -0,0 +1,47 @@
+package com.InventoryManagement.store.lowstock.event;
+
+import java.time.Instant;
+
+// Published by LowStockMonitor (after the change committed) when an inventory item or a stock
+// location enters or leaves the low-stock set
+public class LowStockCrossingEvent {
+
+    public enum Source { INVENTORY, STOCK }
+    public enum Direction { ENTERED, CLEARED }
+
+    private final Source source;
+    private final Direction direction;
+    private final long itemId;
+    private final String sku;      // inventory items only
+    private final String name;
+    private final String category;
+    private final String location; // WAREHOUSE/SHELF for stock, the item's location for inventory
+    private final long quantity;
+    private final int threshold;
+    private final Instant at;
+
+    public LowStockCrossingEvent(Source source, Direction direction, long itemId, String sku, String name,
+                                 String category, String location, long quantity, int threshold, Instant at) {
+        this.source = source;
+        this.direction = direction;
+        this.itemId = itemId;
+        this.sku = sku;
+        this.name = name;
+        this.category = category;
+        this.location = location;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.at = at;
+    }
+
+    public Source getSource() { return source; }
+    public Direction getDirection() { return direction; }
+    public long getItemId() { return itemId; }
+    public String getSku() { return sku; }
+    public String getName() { return name; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+    public long getQuantity() { return quantity; }
+    public int getThreshold() { return threshold; }
+    public Instant getAt() { return at; }
+}
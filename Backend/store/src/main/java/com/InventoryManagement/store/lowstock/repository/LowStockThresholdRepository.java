@@ -0,0 +1,11 @@
+package com.InventoryManagement.store.lowstock.repository;
+
+import com.InventoryManagement.store.lowstock.entity.LowStockThreshold;
+import com.InventoryManagement.store.lowstock.entity.ThresholdScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface LowStockThresholdRepository extends JpaRepository<LowStockThreshold, Long> {
+    Optional<LowStockThreshold> findByScopeAndMatchKey(ThresholdScope scope, String matchKey);
+}
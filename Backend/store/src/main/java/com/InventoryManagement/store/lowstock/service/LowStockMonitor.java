@@ -0,0 +1,237 @@
+package com.InventoryManagement.store.lowstock.service;
+
+import com.InventoryManagement.store.common.projection.JournaledProjection;
+import com.InventoryManagement.store.inventory.dto.InventoryListRow;
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import com.InventoryManagement.store.lowstock.dto.StockLowRow;
+import com.InventoryManagement.store.lowstock.event.LowStockCrossingEvent;
+import com.InventoryManagement.store.stock.entity.StockItem;
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockItemRepository;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The current low-stock set, kept in memory so /lowstock and the stats lowStock figure need no
+// scan. Committed inventory and stock changes are checked against their threshold as they arrive
+// and every entry into or out of the set is published as a LowStockCrossingEvent. A periodic
+// rebuild reloads thresholds, re-derives the set from the database and reports the difference
+// (see JournaledProjection).
+@Component
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private final LowStockThresholds thresholds;
+    private final InventoryItemRepository inventoryRepo;
+    private final StockItemRepository stockRepo;
+    private final ApplicationEventPublisher events;
+    // Journals both InventoryChangeEvents and StockChangeEvents
+    private final JournaledProjection<Sets, Object> sets;
+
+    public LowStockMonitor(LowStockThresholds thresholds, InventoryItemRepository inventoryRepo,
+                           StockItemRepository stockRepo, ApplicationEventPublisher events,
+                           PlatformTransactionManager txManager) {
+        this.thresholds = thresholds;
+        this.inventoryRepo = inventoryRepo;
+        this.stockRepo = stockRepo;
+        this.events = events;
+        this.sets = new JournaledProjection<>("Low-stock sets", new Sets(), this::load, this::replay, null, txManager);
+    }
+
+    public boolean isReady() { return sets.isSeeded(); }
+
+    // Ordered like the old query: lowest quantity first, then id
+    public List<InventoryListRow> inventoryLow() {
+        Sets live = sets.current();
+        List<InventoryListRow> rows = new ArrayList<>(live.inventory.size());
+        for (InventoryEntry e : live.inventory.values()) rows.add(e.row);
+        rows.sort(Comparator.comparing((InventoryListRow r) -> r.getQuantity() == null ? 0 : r.getQuantity())
+                .thenComparing(InventoryListRow::getId));
+        return rows;
+    }
+
+    public long inventoryLowCount() {
+        return sets.current().inventory.size();
+    }
+
+    public List<StockLowRow> stockLow() {
+        List<StockLowRow> rows = new ArrayList<>(sets.current().stock.values());
+        rows.sort(Comparator.comparingLong(StockLowRow::getQuantity).thenComparingLong(StockLowRow::getItemId)
+                .thenComparing(StockLowRow::getLocation));
+        return rows;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInventoryChange(InventoryChangeEvent event) {
+        List<LowStockCrossingEvent> crossings = new ArrayList<>();
+        sets.apply(event, live -> applyInventory(live, event, crossings));
+        crossings.forEach(events::publishEvent);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChange(StockChangeEvent event) {
+        List<LowStockCrossingEvent> crossings = new ArrayList<>();
+        sets.apply(event, live -> applyStock(live, event, crossings));
+        crossings.forEach(events::publishEvent);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    // Until seeded, the low-stock listings fall back to their indexed queries
+    @Scheduled(fixedDelayString = "${app.lowstock.seed-retry-ms:60000}",
+            initialDelayString = "${app.lowstock.seed-retry-ms:60000}")
+    public void retrySeed() {
+        if (!sets.isSeeded()) rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.lowstock.rebuild-ms:300000}",
+            initialDelayString = "${app.lowstock.rebuild-ms:300000}")
+    public void rebuild() {
+        JournaledProjection.Rebuilt<Sets> rebuilt = sets.rebuild();
+        if (rebuilt == null) return;
+        Sets fresh = rebuilt.fresh();
+        if (rebuilt.previous() != null) publishDifference(rebuilt.previous(), fresh);
+        log.info("Low-stock set rebuilt: {} inventory items, {} stock locations",
+                fresh.inventory.size(), fresh.stock.size());
+    }
+
+    // Forces a rebuild after thresholds change, so the set and its crossings follow at once
+    public void thresholdsChanged() {
+        rebuild();
+    }
+
+    private Sets load() {
+        thresholds.reload();
+        Sets into = new Sets();
+        int max = thresholds.max();
+        for (InventoryListRow row : inventoryRepo.listLowStockRows(max)) {
+            int t = thresholds.resolve(row.getSku(), row.getCategory());
+            if (quantity(row) < t) into.inventory.put(row.getId(), new InventoryEntry(row, t));
+        }
+        for (StockItemRepository.IdSku s : stockRepo.findSkus()) into.stockSkus.put(s.getId(), s.getSku());
+        for (StockItem item : stockRepo.findAnyQuantityBelow(max)) {
+            int t = thresholds.resolve(into.stockSkus.get(item.getId()), item.getCategory());
+            if (item.getWarehouseQty() < t) {
+                into.stock.put(stockKey(item.getId(), StockWriter.Column.WAREHOUSE),
+                        stockRow(item.getId(), item.getCategory(), item.getItemName(), StockWriter.Column.WAREHOUSE, item.getWarehouseQty(), t));
+            }
+            if (item.getShelfQty() < t) {
+                into.stock.put(stockKey(item.getId(), StockWriter.Column.SHELF),
+                        stockRow(item.getId(), item.getCategory(), item.getItemName(), StockWriter.Column.SHELF, item.getShelfQty(), t));
+            }
+        }
+        return into;
+    }
+
+    // Journaled events replayed onto a fresh set; crossings are reported by publishDifference instead
+    private void replay(Sets fresh, Object event) {
+        if (event instanceof InventoryChangeEvent e) applyInventory(fresh, e, null);
+        else applyStock(fresh, (StockChangeEvent) event, null);
+    }
+
+    // Quantities are fixed once an item is created; approve/reject only refresh the listed status
+    private void applyInventory(Sets sets, InventoryChangeEvent event, List<LowStockCrossingEvent> crossings) {
+        for (InventoryResponse item : event.getItems()) {
+            InventoryListRow row = InventoryListRow.from(item);
+            if (event.getKind() != InventoryChangeEvent.Kind.CREATED) {
+                sets.inventory.computeIfPresent(item.getId(), (id, e) -> new InventoryEntry(row, e.threshold));
+                continue;
+            }
+            int t = thresholds.resolve(item.getSku(), item.getCategory());
+            if (quantity(row) >= t) continue;
+            InventoryEntry previous = sets.inventory.put(item.getId(), new InventoryEntry(row, t));
+            if (previous == null && crossings != null) crossings.add(crossing(row, t, LowStockCrossingEvent.Direction.ENTERED));
+        }
+    }
+
+    private void applyStock(Sets sets, StockChangeEvent event, List<LowStockCrossingEvent> crossings) {
+        for (StockRowChange c : event.getChanges()) {
+            int t = thresholds.resolve(sets.stockSkus.get(c.getItemId()), c.getCategory());
+            boolean low = c.getAfter() < t;
+            StockLowRow next = low ? stockRow(c.getItemId(), c.getCategory(), c.getItem(), c.getColumn(), c.getAfter(), t) : null;
+            StockLowRow previous = low
+                    ? sets.stock.put(stockKey(c.getItemId(), c.getColumn()), next)
+                    : sets.stock.remove(stockKey(c.getItemId(), c.getColumn()));
+            if (crossings == null || (previous == null) != low) continue;
+            StockLowRow r = low ? next : previous;
+            crossings.add(new LowStockCrossingEvent(LowStockCrossingEvent.Source.STOCK,
+                    low ? LowStockCrossingEvent.Direction.ENTERED : LowStockCrossingEvent.Direction.CLEARED,
+                    c.getItemId(), null, c.getItem(), c.getCategory(), r.getLocation(), c.getAfter(), t, c.getOccurredAt()));
+        }
+    }
+
+    // Entries that appeared or vanished between two sets (threshold changes, drift); a cleared
+    // entry reports the quantity it was last seen with
+    private void publishDifference(Sets before, Sets after) {
+        List<LowStockCrossingEvent> out = new ArrayList<>();
+        after.inventory.forEach((id, e) -> {
+            if (!before.inventory.containsKey(id)) out.add(crossing(e.row, e.threshold, LowStockCrossingEvent.Direction.ENTERED));
+        });
+        before.inventory.forEach((id, e) -> {
+            if (!after.inventory.containsKey(id)) out.add(crossing(e.row, e.threshold, LowStockCrossingEvent.Direction.CLEARED));
+        });
+        Instant now = Instant.now();
+        after.stock.forEach((key, r) -> {
+            if (!before.stock.containsKey(key)) out.add(crossing(r, LowStockCrossingEvent.Direction.ENTERED, now));
+        });
+        before.stock.forEach((key, r) -> {
+            if (!after.stock.containsKey(key)) out.add(crossing(r, LowStockCrossingEvent.Direction.CLEARED, now));
+        });
+        out.forEach(events::publishEvent);
+    }
+
+    private static LowStockCrossingEvent crossing(InventoryListRow row, int threshold, LowStockCrossingEvent.Direction direction) {
+        return new LowStockCrossingEvent(LowStockCrossingEvent.Source.INVENTORY, direction, row.getId(), row.getSku(),
+                row.getName(), row.getCategory(), row.getLocation(), quantity(row), threshold, Instant.now());
+    }
+
+    private static LowStockCrossingEvent crossing(StockLowRow r, LowStockCrossingEvent.Direction direction, Instant at) {
+        return new LowStockCrossingEvent(LowStockCrossingEvent.Source.STOCK, direction, r.getItemId(), null,
+                r.getItem(), r.getCategory(), r.getLocation(), r.getQuantity(), r.getThreshold(), at);
+    }
+
+    private static StockLowRow stockRow(long id, String category, String item, StockWriter.Column column, long qty, int threshold) {
+        return new StockLowRow(id, category, item, column.name().toLowerCase(Locale.ROOT), qty, threshold);
+    }
+
+    private static long stockKey(long itemId, StockWriter.Column column) {
+        return itemId * 2 + column.ordinal();
+    }
+
+    private static int quantity(InventoryListRow row) {
+        return row.getQuantity() == null ? 0 : row.getQuantity();
+    }
+
+    private record InventoryEntry(InventoryListRow row, int threshold) {}
+
+    private static final class Sets {
+        final Map<Long, InventoryEntry> inventory = new ConcurrentHashMap<>();
+        final Map<Long, StockLowRow> stock = new ConcurrentHashMap<>();
+        // Stock rows that carry a SKU, for ITEM thresholds; SKUs are not written by the app
+        final Map<Long, String> stockSkus = new HashMap<>();
+    }
+}
@@ -0,0 +1,14 @@
+package com.InventoryManagement.store.lowstock.service;
+
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdDto;
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdRequest;
+import com.InventoryManagement.store.lowstock.dto.StockLowRow;
+
+import java.util.List;
+
+public interface LowStockService {
+    List<LowStockThresholdDto> listThresholds();
+    LowStockThresholdDto putThreshold(LowStockThresholdRequest req, String updatedBy);
+    void deleteThreshold(String scope, String key);
+    List<StockLowRow> listStockLow();
+}
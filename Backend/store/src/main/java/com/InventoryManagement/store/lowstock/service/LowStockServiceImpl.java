@@ -0,0 +1,99 @@
+package com.InventoryManagement.store.lowstock.service;
+
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdDto;
+import com.InventoryManagement.store.lowstock.dto.LowStockThresholdRequest;
+import com.InventoryManagement.store.lowstock.dto.StockLowRow;
+import com.InventoryManagement.store.lowstock.entity.LowStockThreshold;
+import com.InventoryManagement.store.lowstock.entity.ThresholdScope;
+import com.InventoryManagement.store.lowstock.repository.LowStockThresholdRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    private static final int MAX_KEY = 100;
+
+    private final LowStockThresholdRepository repo;
+    private final LowStockMonitor monitor;
+    private final TransactionTemplate tx;
+
+    public LowStockServiceImpl(LowStockThresholdRepository repo, LowStockMonitor monitor,
+                               PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.monitor = monitor;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Override
+    public List<LowStockThresholdDto> listThresholds() {
+        return repo.findAll().stream()
+                .sorted(Comparator.comparing(LowStockThreshold::getScope).thenComparing(LowStockThreshold::getMatchKey))
+                .map(LowStockThresholdDto::from)
+                .toList();
+    }
+
+    // Commits first, then rebuilds the in-memory set so /lowstock reflects the new threshold
+    @Override
+    public LowStockThresholdDto putThreshold(LowStockThresholdRequest req, String updatedBy) {
+        if (req == null || req.getThreshold() == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "threshold is required");
+        if (req.getThreshold() < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "threshold must be >= 0");
+        ThresholdScope scope = scope(req.getScope());
+        String label = label(req.getKey());
+        LowStockThreshold saved = tx.execute(s -> {
+            LowStockThreshold t = repo.findByScopeAndMatchKey(scope, LowStockThresholds.keyOf(label)).orElseGet(() -> {
+                LowStockThreshold n = new LowStockThreshold();
+                n.setScope(scope);
+                n.setMatchKey(LowStockThresholds.keyOf(label));
+                return n;
+            });
+            t.setLabel(label);
+            t.setThreshold(req.getThreshold());
+            t.setUpdatedBy(updatedBy != null ? updatedBy : "system");
+            t.setUpdatedAt(Instant.now());
+            return repo.save(t);
+        });
+        monitor.thresholdsChanged();
+        return LowStockThresholdDto.from(saved);
+    }
+
+    @Override
+    public void deleteThreshold(String scope, String key) {
+        ThresholdScope s = scope(scope);
+        String matchKey = LowStockThresholds.keyOf(label(key));
+        boolean deleted = Boolean.TRUE.equals(tx.execute(status -> repo.findByScopeAndMatchKey(s, matchKey)
+                .map(t -> { repo.delete(t); return true; })
+                .orElse(false)));
+        if (!deleted) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Threshold not found");
+        monitor.thresholdsChanged();
+    }
+
+    @Override
+    public List<StockLowRow> listStockLow() {
+        return monitor.stockLow();
+    }
+
+    private static ThresholdScope scope(String scope) {
+        if (scope == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "scope is required");
+        try {
+            return ThresholdScope.valueOf(scope.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "scope must be ITEM or CATEGORY");
+        }
+    }
+
+    private static String label(String key) {
+        if (key == null || key.isBlank()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "key is required");
+        String k = key.trim();
+        if (k.length() > MAX_KEY) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "key is longer than " + MAX_KEY + " characters");
+        return k;
+    }
+}
@@ -0,0 +1,79 @@
+package com.InventoryManagement.store.lowstock.service;
+
+import com.InventoryManagement.store.lowstock.entity.LowStockThreshold;
+import com.InventoryManagement.store.lowstock.entity.ThresholdScope;
+import com.InventoryManagement.store.lowstock.repository.LowStockThresholdRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// In-memory view of low_stock_thresholds. Resolution order: the item's SKU, then its category,
+// then app.lowstock.default-threshold. Reads are lock-free against an immutable snapshot that
+// reload() replaces.
+@Component
+public class LowStockThresholds {
+
+    private final LowStockThresholdRepository repo;
+    private final int defaultThreshold;
+    private volatile Snapshot current;
+
+    public LowStockThresholds(LowStockThresholdRepository repo,
+                              @Value("${app.lowstock.default-threshold:10}") int defaultThreshold) {
+        this.repo = repo;
+        this.defaultThreshold = defaultThreshold;
+        this.current = new Snapshot(Map.of(), Map.of(), defaultThreshold);
+    }
+
+    public static String keyOf(String skuOrCategory) {
+        return skuOrCategory == null ? "" : skuOrCategory.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int defaultThreshold() { return defaultThreshold; }
+
+    public int resolve(String sku, String category) {
+        Snapshot s = current;
+        if (sku != null && !s.bySku.isEmpty()) {
+            Integer t = s.bySku.get(keyOf(sku));
+            if (t != null) return t;
+        }
+        if (!s.byCategory.isEmpty()) {
+            Integer t = s.byCategory.get(keyOf(category));
+            if (t != null) return t;
+        }
+        return s.fallback;
+    }
+
+    // Largest threshold in effect; rows at or above it can never be low
+    public int max() {
+        return current.max;
+    }
+
+    public void reload() {
+        Map<String, Integer> bySku = new HashMap<>();
+        Map<String, Integer> byCategory = new HashMap<>();
+        for (LowStockThreshold t : repo.findAll()) {
+            (t.getScope() == ThresholdScope.ITEM ? bySku : byCategory).put(t.getMatchKey(), t.getThreshold());
+        }
+        current = new Snapshot(bySku, byCategory, defaultThreshold);
+    }
+
+    private static final class Snapshot {
+        final Map<String, Integer> bySku;
+        final Map<String, Integer> byCategory;
+        final int fallback;
+        final int max;
+
+        Snapshot(Map<String, Integer> bySku, Map<String, Integer> byCategory, int fallback) {
+            this.bySku = bySku;
+            this.byCategory = byCategory;
+            this.fallback = fallback;
+            int m = fallback;
+            for (int t : bySku.values()) m = Math.max(m, t);
+            for (int t : byCategory.values()) m = Math.max(m, t);
+            this.max = m;
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package com.InventoryManagement.store.stock.controller;
 
+import com.InventoryManagement.store.common.web.CsvStreams;
 import com.InventoryManagement.store.stock.dto.AdjustStockRequest;
+import com.InventoryManagement.store.stock.dto.StockAsOfDto;
+import com.InventoryManagement.store.stock.dto.StockExportRow;
+import com.InventoryManagement.store.stock.dto.StockImportResponse;
 import com.InventoryManagement.store.stock.dto.StockSummaryDto;
+import com.InventoryManagement.store.stock.dto.StockTotalsDriftDto;
+import com.InventoryManagement.store.stock.dto.TransferStockRequest;
+import com.InventoryManagement.store.stock.dto.TransferStockResponse;
 import com.InventoryManagement.store.stock.service.StockService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/stock")
@@ -21,18 +37,60 @@ public class StockController {
         return ResponseEntity.ok(service.summary());
     }
 
+    // Drift the last totals reconcile found between memory and stock_items
+    @GetMapping("/summary/drift")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<StockTotalsDriftDto> summaryDrift() {
+        return ResponseEntity.ok(service.totalsDrift());
+    }
+
+    // Stock at a past instant (ISO-8601, e.g. 2024-05-01T00:00:00Z) from snapshot + ledger replay;
+    // pass category to get its items as well
+    @GetMapping("/as-of")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<StockAsOfDto> asOf(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at,
+                                             @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(service.asOf(at, category));
+    }
+
     @PostMapping("/warehouse")
     @PreAuthorize("hasAnyRole('MANAGER')")
-    public ResponseEntity<Void> adjustWarehouse(@RequestBody AdjustStockRequest req) {
-        service.adjustWarehouse(req);
+    public ResponseEntity<Void> adjustWarehouse(@RequestBody AdjustStockRequest req, Authentication auth) {
+        service.adjustWarehouse(req, auth != null ? auth.getName() : "system");
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/shelf")
     @PreAuthorize("hasAnyRole('MANAGER')")
-    public ResponseEntity<Void> adjustShelf(@RequestBody AdjustStockRequest req) {
-        service.adjustShelf(req);
+    public ResponseEntity<Void> adjustShelf(@RequestBody AdjustStockRequest req, Authentication auth) {
+        service.adjustShelf(req, auth != null ? auth.getName() : "system");
         return ResponseEntity.ok().build();
     }
-}
 
+    // Moves stock between warehouse and shelf for one or many items atomically; 409 if any source runs short
+    @PostMapping("/transfer")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<TransferStockResponse> transfer(@RequestBody TransferStockRequest req, Authentication auth) {
+        return ResponseEntity.ok(service.transfer(req, auth != null ? auth.getName() : "system"));
+    }
+
+    // Full-stock CSV upload (request body, text/csv); each line sets the quantities it carries.
+    // Answers 200 with a per-line error report even when some lines were rejected.
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<StockImportResponse> importCsv(HttpServletRequest request, Authentication auth) throws IOException {
+        return ResponseEntity.ok(service.importCsv(request.getInputStream(), auth != null ? auth.getName() : "system"));
+    }
+
+    // Every stock row as CSV, written while the database cursor is read; the header matches /import
+    @GetMapping(value = "/export", produces = "text/csv")
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        String[] header = {"id", "category", "item", "sku", "warehouse_qty", "shelf_qty", "updated_at"};
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"stock.csv\"")
+                .body(CsvStreams.<StockExportRow>table(header,
+                        r -> new Object[] {r.id, r.category, r.item, r.sku, r.warehouseQty, r.shelfQty, r.updatedAt},
+                        service::streamExport));
+    }
+}
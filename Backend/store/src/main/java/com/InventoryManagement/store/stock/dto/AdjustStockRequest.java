@@ -5,6 +5,6 @@ public class AdjustStockRequest {
     public String category; // required if id not provided
     public Long itemId;     // optional
     public String item;     // required if id not provided
-    public long quantity;   // must be > 0
+    public long quantity;   // add: non-zero delta, negative removes (floored at 0); set: >= 0
     public String mode;     // add | set
 }
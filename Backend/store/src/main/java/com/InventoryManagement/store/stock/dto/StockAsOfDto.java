@@ -0,0 +1,17 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// Stock as it stood at `at`: the snapshot it started from plus the ledger movements replayed on top.
+// items is filled only when the request names a category.
+public class StockAsOfDto {
+    public Instant at;
+    public Instant snapshotAt;
+    public long movementsReplayed;
+    public StockSummaryDto.Totals totals;
+    public List<StockSummaryDto.CategoryBreakdown> categories;
+    public List<Item> items;
+
+    public static class Item { public long itemId; public String category; public String item; public long warehouseQty; public long shelfQty; }
+}
@@ -0,0 +1,24 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.time.Instant;
+
+// One stock_items row for the CSV export; a constructor projection, so streaming it leaves no managed entities behind
+public class StockExportRow {
+    public final long id;
+    public final String category;
+    public final String item;
+    public final String sku;
+    public final long warehouseQty;
+    public final long shelfQty;
+    public final Instant updatedAt;
+
+    public StockExportRow(Long id, String category, String item, String sku, long warehouseQty, long shelfQty, Instant updatedAt) {
+        this.id = id;
+        this.category = category;
+        this.item = item;
+        this.sku = sku;
+        this.warehouseQty = warehouseQty;
+        this.shelfQty = shelfQty;
+        this.updatedAt = updatedAt;
+    }
+}
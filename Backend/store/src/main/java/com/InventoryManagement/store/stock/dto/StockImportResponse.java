@@ -0,0 +1,28 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a CSV import. Lines are physical line numbers (the header is line 1); errors lists
+// at most app.stock.import.max-errors entries, failed counts all of them. Every record is counted
+// once: applied is the number of distinct items written, merged the records overridden by a later
+// record for the same item in the same chunk, and failed the records not applied.
+public class StockImportResponse {
+    public long lines;
+    public long applied;
+    public long merged;
+    public long failed;
+    public boolean complete = true; // false when the file could not be read to the end
+    public boolean errorsTruncated;
+    public List<LineError> errors = new ArrayList<>();
+
+    public static class LineError {
+        public long line;
+        public String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.time.Instant;
+
+// How far the in-memory stock totals were off at the last reconcile (database minus memory)
+public class StockTotalsDriftDto {
+    public Instant lastReconciledAt;
+    public long lastWarehouseDrift;
+    public long lastShelfDrift;
+    public int lastCategoriesDrifted;
+    public long reconciles;
+    public long reconcilesWithDrift;
+}
@@ -0,0 +1,11 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.util.List;
+
+public class TransferStockRequest {
+    public String from = "warehouse"; // warehouse | shelf
+    public String to = "shelf";       // warehouse | shelf, must differ from `from`
+    public List<Line> items;          // all move in one transaction, or none do
+
+    public static class Line { public String category; public String item; public long quantity; /* > 0 */ }
+}
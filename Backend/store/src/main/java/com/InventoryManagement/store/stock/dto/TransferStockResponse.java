@@ -0,0 +1,12 @@
+package com.InventoryManagement.store.stock.dto;
+
+import java.util.List;
+
+// Quantities after the transfer committed, one entry per distinct item
+public class TransferStockResponse {
+    public String from;
+    public String to;
+    public List<Line> items;
+
+    public static class Line { public long itemId; public String category; public String item; public long quantity; public long fromQty; public long toQty; }
+}
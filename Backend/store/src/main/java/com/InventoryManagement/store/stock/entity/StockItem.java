@@ -2,10 +2,12 @@ package com.InventoryManagement.store.stock.entity;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.Locale;
 
 @Entity
 @Table(name = "stock_items", uniqueConstraints = {
-        @UniqueConstraint(name = "uk_stock_category_item", columnNames = {"category", "item_name"})
+        @UniqueConstraint(name = "uk_stock_category_item", columnNames = {"category", "item_name"}),
+        @UniqueConstraint(name = "uk_stock_lookup_key", columnNames = {"lookup_key"})
 })
 public class StockItem {
     @Id
@@ -18,6 +20,10 @@ public class StockItem {
     @Column(name = "item_name", nullable = false, length = 200)
     private String itemName;
 
+    // lookupKeyOf(category, itemName); nullable only until StockLookupKeyBackfill has run
+    @Column(name = "lookup_key", length = 301)
+    private String lookupKey;
+
     @Column(name = "sku", length = 100)
     private String sku;
 
@@ -36,6 +42,11 @@ public class StockItem {
         this.updatedAt = Instant.now();
     }
 
+    // Trimmed, case-folded category and item joined by U+001F; equality here means the same stock row
+    public static String lookupKeyOf(String category, String itemName) {
+        return category.trim().toLowerCase(Locale.ROOT) + '\u001f' + itemName.trim().toLowerCase(Locale.ROOT);
+    }
+
     // getters/setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -43,6 +54,8 @@ public class StockItem {
     public void setCategory(String category) { this.category = category; }
     public String getItemName() { return itemName; }
     public void setItemName(String itemName) { this.itemName = itemName; }
+    public String getLookupKey() { return lookupKey; }
+    public void setLookupKey(String lookupKey) { this.lookupKey = lookupKey; }
     public String getSku() { return sku; }
     public void setSku(String sku) { this.sku = sku; }
     public long getWarehouseQty() { return warehouseQty; }
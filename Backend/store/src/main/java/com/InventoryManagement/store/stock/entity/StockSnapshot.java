@@ -0,0 +1,31 @@
+package com.InventoryManagement.store.stock.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Header of one stock_items copy taken by StockLedger; its rows live in stock_snapshot_rows
+@Entity
+@Table(name = "stock_snapshots", indexes = {
+        @Index(name = "ix_stock_snapshots_taken_at", columnList = "taken_at")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Instant getTakenAt() { return takenAt; }
+    public void setTakenAt(Instant takenAt) { this.takenAt = takenAt; }
+
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+}
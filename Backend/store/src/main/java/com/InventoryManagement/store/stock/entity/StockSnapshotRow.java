@@ -0,0 +1,61 @@
+package com.InventoryManagement.store.stock.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+// One stock row as it stood when its snapshot was taken; written only by insert ... select
+@Entity
+@Table(name = "stock_snapshot_rows")
+@IdClass(StockSnapshotRow.Key.class)
+public class StockSnapshotRow {
+
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "item_name", nullable = false, length = 200)
+    private String itemName;
+
+    @Column(name = "warehouse_qty", nullable = false)
+    private long warehouseQty;
+
+    @Column(name = "shelf_qty", nullable = false)
+    private long shelfQty;
+
+    public Long getSnapshotId() { return snapshotId; }
+    public Long getItemId() { return itemId; }
+    public String getCategory() { return category; }
+    public String getItemName() { return itemName; }
+    public long getWarehouseQty() { return warehouseQty; }
+    public long getShelfQty() { return shelfQty; }
+
+    public static class Key implements Serializable {
+        private Long snapshotId;
+        private Long itemId;
+
+        public Key() {}
+
+        public Key(Long snapshotId, Long itemId) {
+            this.snapshotId = snapshotId;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(snapshotId, k.snapshotId) && Objects.equals(itemId, k.itemId);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(snapshotId, itemId); }
+    }
+}
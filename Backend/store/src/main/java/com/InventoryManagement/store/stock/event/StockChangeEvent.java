@@ -0,0 +1,18 @@
+package com.InventoryManagement.store.stock.event;
+
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+
+import java.util.List;
+
+// Published inside the transaction that changed stock_items (direct adjustments and write-behind
+// flushes alike); AFTER_COMMIT listeners keep in-memory state in step with committed rows.
+public class StockChangeEvent {
+
+    private final List<StockRowChange> changes;
+
+    public StockChangeEvent(List<StockRowChange> changes) {
+        this.changes = changes;
+    }
+
+    public List<StockRowChange> getChanges() { return changes; }
+}
@@ -0,0 +1,99 @@
+package com.InventoryManagement.store.stock.repository;
+
+import com.InventoryManagement.store.stock.entity.StockItem;
+
+// Net effect of a run of adjustments to one (category, item), applied by StockWriter.applyAll.
+// Each column keeps either an absolute value (a "set" was seen) or qty -> max(floor, qty + delta),
+// which is exactly what a sequence of clamped adds composes to, so netting never changes the result.
+public final class StockChange {
+    public static final String MULTIPLE_ACTORS = "multiple";
+
+    private final String category;
+    private final String item;
+    private final QtyOp warehouse = new QtyOp();
+    private final QtyOp shelf = new QtyOp();
+    private String actor;
+
+    public StockChange(String category, String item) {
+        this.category = category;
+        this.item = item;
+    }
+
+    // Who made the netted adjustments; "multiple" once they come from different users
+    public String getActor() { return actor; }
+
+    public void recordActor(String who) {
+        if (actor == null) actor = who;
+        else if (who != null && !actor.equals(who)) actor = MULTIPLE_ACTORS;
+    }
+
+    // Buffer key; the same value is persisted as stock_items.lookup_key
+    public static String key(String category, String item) {
+        return StockItem.lookupKeyOf(category, item);
+    }
+
+    public String getCategory() { return category; }
+    public String getItem() { return item; }
+    public QtyOp getWarehouse() { return warehouse; }
+    public QtyOp getShelf() { return shelf; }
+
+    public QtyOp op(StockWriter.Column column) {
+        return column == StockWriter.Column.WAREHOUSE ? warehouse : shelf;
+    }
+
+    // Appends the later change's operations after this one's
+    public void then(StockChange later) {
+        warehouse.then(later.warehouse);
+        shelf.then(later.shelf);
+        if (later.actor != null) recordActor(later.actor);
+    }
+
+    public static final class QtyOp {
+        private boolean touched;
+        private boolean set;
+        private long value;
+        private long floor;
+        private long delta;
+
+        public void add(long d) {
+            touched = true;
+            if (set) {
+                value = Math.max(0, value + d);
+            } else {
+                floor = Math.max(0, floor + d);
+                delta += d;
+            }
+        }
+
+        public void set(long v) {
+            touched = true;
+            set = true;
+            value = v;
+            floor = 0;
+            delta = 0;
+        }
+
+        void then(QtyOp later) {
+            touched |= later.touched;
+            if (later.set) {
+                set(later.value);
+            } else if (set) {
+                value = Math.max(later.floor, value + later.delta);
+            } else {
+                floor = Math.max(later.floor, floor + later.delta);
+                delta += later.delta;
+            }
+        }
+
+        public long apply(long qty) {
+            return set ? value : Math.max(floor, qty + delta);
+        }
+
+        // Whether any adjustment addressed this column (even if it netted to no change)
+        public boolean isTouched() { return touched; }
+        public boolean isSet() { return set; }
+        public long getValue() { return value; }
+        public long getFloor() { return floor; }
+        public long getDelta() { return delta; }
+    }
+}
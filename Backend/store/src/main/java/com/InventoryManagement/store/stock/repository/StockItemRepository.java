@@ -1,14 +1,53 @@
 package com.InventoryManagement.store.stock.repository;
 
+import com.InventoryManagement.store.stock.dto.StockExportRow;
 import com.InventoryManagement.store.stock.entity.StockItem;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface StockItemRepository extends JpaRepository<StockItem, Long> {
-    Optional<StockItem> findByCategoryIgnoreCaseAndItemNameIgnoreCase(String category, String itemName);
+    Optional<StockItem> findByLookupKey(String lookupKey);
+
+    List<StockItem> findByLookupKeyIn(Collection<String> lookupKeys);
+
+    // Legacy rows written before lookup_key existed
+    List<StockItem> findTop500ByLookupKeyIsNullOrderByIdAsc();
+
+    // Lookup-key backfill: ids of the rows involved, locked in id order so concurrent writers that
+    // also lock by id cannot deadlock against it
+    @Query("select s.id from StockItem s where s.lookupKey = ?1")
+    Optional<Long> findIdByLookupKey(String lookupKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StockItem s where s.id in ?1 order by s.id")
+    List<StockItem> lockByIds(Collection<Long> ids);
+
+    // Relative, so increments committed by StockWriter before the lock was taken are kept
+    @Modifying(clearAutomatically = true)
+    @Query("update StockItem s set s.warehouseQty = s.warehouseQty + ?2, s.shelfQty = s.shelfQty + ?3, s.updatedAt = ?4 where s.id = ?1")
+    int addQuantities(long id, long warehouseQty, long shelfQty, Instant at);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update StockItem s set s.lookupKey = ?2 where s.id = ?1 and s.lookupKey is null")
+    int assignLookupKey(long id, String lookupKey);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from StockItem s where s.id = ?1")
+    int deleteRow(long id);
 
     @Query("select coalesce(sum(s.warehouseQty),0) from StockItem s")
     Long sumWarehouse();
@@ -20,4 +59,20 @@ public interface StockItemRepository extends JpaRepository<StockItem, Long> {
 
     @Query("select s.category as category, sum(s.warehouseQty) as warehouseQty, sum(s.shelfQty) as shelfQty from StockItem s group by s.category")
     List<CatAgg> groupByCategory();
+
+    // Low-stock rebuild: rows with either quantity under the largest threshold in effect
+    @Query("select s from StockItem s where s.warehouseQty < ?1 or s.shelfQty < ?1")
+    List<StockItem> findAnyQuantityBelow(long threshold);
+
+    interface IdSku { Long getId(); String getSku(); }
+
+    @Query("select s.id as id, s.sku as sku from StockItem s where s.sku is not null and s.sku <> ''")
+    List<IdSku> findSkus();
+
+    // CSV export cursor; consume inside a read-only transaction and close.
+    // Integer.MIN_VALUE makes MySQL Connector/J stream row by row instead of buffering the result.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.InventoryManagement.store.stock.dto.StockExportRow(" +
+            "s.id, s.category, s.itemName, s.sku, s.warehouseQty, s.shelfQty, s.updatedAt) from StockItem s order by s.id")
+    Stream<StockExportRow> streamExportRows();
 }
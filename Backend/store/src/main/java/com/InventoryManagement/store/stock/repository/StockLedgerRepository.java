@@ -0,0 +1,211 @@
+package com.InventoryManagement.store.stock.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Storage for the stock movement ledger and its snapshots. Movements go to one table per UTC month
+// (stock_movements_YYYYMM, created on first use), so a point-in-time read only touches the months
+// it replays and old history can be archived or dropped a month at a time.
+@Repository
+public class StockLedgerRepository {
+
+    private static final String MOVEMENT_TABLE_PREFIX = "stock_movements_";
+
+    private final JdbcTemplate jdbc;
+    private final NavigableSet<Integer> months = new ConcurrentSkipListSet<>();
+    private volatile boolean monthsLoaded;
+
+    public StockLedgerRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // yyyymm of the UTC month containing the instant
+    public static int monthOf(Instant at) {
+        YearMonth m = YearMonth.from(at.atOffset(ZoneOffset.UTC));
+        return m.getYear() * 100 + m.getMonthValue();
+    }
+
+    // Appends movements of one month as a single JDBC batch. The month's table must already exist:
+    // MySQL commits the open transaction on any DDL, so ensureMonth never runs inside one.
+    public void insertMovements(int month, List<StockRowChange> rows) {
+        if (!months.contains(month)) {
+            throw new IllegalStateException("Ledger table for " + month + " not created; call ensureMonth before the transaction");
+        }
+        Calendar utc = utc();
+        jdbc.batchUpdate("insert into " + table(month) + " (item_id, category, item_name, location, kind, quantity, "
+                        + "before_qty, after_qty, actor, occurred_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        StockRowChange c = rows.get(i);
+                        ps.setLong(1, c.getItemId());
+                        ps.setString(2, c.getCategory());
+                        ps.setString(3, c.getItem());
+                        ps.setString(4, c.getColumn().name());
+                        ps.setString(5, c.getKind().name());
+                        ps.setLong(6, c.getRequested());
+                        ps.setLong(7, c.getBefore());
+                        ps.setLong(8, c.getAfter());
+                        ps.setString(9, c.getActor());
+                        ps.setTimestamp(10, Timestamp.from(c.getOccurredAt()), utc);
+                    }
+
+                    @Override
+                    public int getBatchSize() { return rows.size(); }
+                });
+    }
+
+    public interface MovementHandler {
+        void accept(long itemId, String category, String item, StockWriter.Column column, long after);
+    }
+
+    // Movements with from < occurred_at <= to in time order, optionally for one category
+    public int replay(Instant from, Instant to, String category, MovementHandler handler) {
+        loadMonths();
+        int first = from == null ? Integer.MIN_VALUE : monthOf(from);
+        int[] count = {0};
+        Calendar utc = utc();
+        for (int month : months.subSet(first, true, monthOf(to), true)) {
+            List<Object> args = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("select item_id, category, item_name, location, after_qty from ")
+                    .append(table(month)).append(" where occurred_at <= ?");
+            args.add(Timestamp.from(to));
+            if (from != null) {
+                sql.append(" and occurred_at > ?");
+                args.add(Timestamp.from(from));
+            }
+            if (category != null) {
+                sql.append(" and category = ?");
+                args.add(category);
+            }
+            sql.append(" order by occurred_at, id");
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString());
+                for (int i = 0; i < args.size(); i++) {
+                    Object a = args.get(i);
+                    if (a instanceof Timestamp t) ps.setTimestamp(i + 1, t, utc); else ps.setObject(i + 1, a);
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                count[0]++;
+                handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        StockWriter.Column.valueOf(rs.getString(4)), rs.getLong(5));
+            });
+        }
+        return count[0];
+    }
+
+    // Copies stock_items into a new snapshot. Run it in a READ COMMITTED transaction so the
+    // insert ... select reads a consistent view without share-locking stock_items.
+    public long takeSnapshot(Instant takenAt) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into stock_snapshots (taken_at, item_count) values (?, 0)", Statement.RETURN_GENERATED_KEYS);
+            ps.setTimestamp(1, Timestamp.from(takenAt), utc());
+            return ps;
+        }, keys);
+        long id = keys.getKey().longValue();
+        int rows = jdbc.update("insert into stock_snapshot_rows (snapshot_id, item_id, category, item_name, warehouse_qty, shelf_qty) "
+                + "select ?, id, category, item_name, warehouse_qty, shelf_qty from stock_items", id);
+        jdbc.update("update stock_snapshots set item_count = ? where id = ?", rows, id);
+        return id;
+    }
+
+    public record SnapshotRef(long id, Instant takenAt) {}
+
+    public SnapshotRef latestSnapshotAtOrBefore(Instant at) {
+        List<SnapshotRef> found = jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "select id, taken_at from stock_snapshots where taken_at <= ? order by taken_at desc, id desc limit 1");
+            ps.setTimestamp(1, Timestamp.from(at), utc());
+            return ps;
+        }, (rs, n) -> new SnapshotRef(rs.getLong(1), rs.getTimestamp(2, utc()).toInstant()));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public boolean hasSnapshot() {
+        return !jdbc.queryForList("select id from stock_snapshots limit 1", Long.class).isEmpty();
+    }
+
+    // Each snapshot row is reported once per column, like a movement setting it to the stored value
+    public void snapshotRows(long snapshotId, String category, MovementHandler handler) {
+        RowCallbackHandler each = rs -> {
+            handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3), StockWriter.Column.WAREHOUSE, rs.getLong(4));
+            handler.accept(rs.getLong(1), rs.getString(2), rs.getString(3), StockWriter.Column.SHELF, rs.getLong(5));
+        };
+        String sql = "select item_id, category, item_name, warehouse_qty, shelf_qty from stock_snapshot_rows where snapshot_id = ?";
+        if (category == null) jdbc.query(sql, each, snapshotId);
+        else jdbc.query(sql + " and category = ?", each, snapshotId, category);
+    }
+
+    // Drops all but the newest `keep` snapshots; returns how many were removed
+    public int pruneSnapshots(int keep) {
+        List<Long> old = jdbc.queryForList(
+                "select id from stock_snapshots order by taken_at desc, id desc limit 1000000 offset ?", Long.class, keep);
+        for (Long id : old) {
+            jdbc.update("delete from stock_snapshot_rows where snapshot_id = ?", id);
+            jdbc.update("delete from stock_snapshots where id = ?", id);
+        }
+        return old.size();
+    }
+
+    // Creates the month's movement table if needed; call outside any transaction (DDL commits it)
+    public void ensureMonth(int month) {
+        loadMonths();
+        if (months.contains(month)) return;
+        String t = table(month);
+        jdbc.execute("create table if not exists " + t + " ("
+                + "id bigint not null auto_increment primary key, "
+                + "item_id bigint not null, "
+                + "category varchar(100) not null, "
+                + "item_name varchar(200) not null, "
+                + "location varchar(16) not null, "
+                + "kind varchar(8) not null, "
+                + "quantity bigint not null, "
+                + "before_qty bigint not null, "
+                + "after_qty bigint not null, "
+                + "actor varchar(100), "
+                + "occurred_at datetime(6) not null, "
+                + "key ix_" + t + "_time (occurred_at), "
+                + "key ix_" + t + "_item_time (item_id, occurred_at))");
+        months.add(month);
+    }
+
+    private void loadMonths() {
+        if (monthsLoaded) return;
+        for (String name : jdbc.queryForList("select table_name from information_schema.tables "
+                + "where table_schema = database() and table_name like 'stock!_movements!_%' escape '!'", String.class)) {
+            String suffix = name.substring(MOVEMENT_TABLE_PREFIX.length());
+            if (suffix.matches("\\d{6}")) months.add(Integer.parseInt(suffix));
+        }
+        monthsLoaded = true;
+    }
+
+    private static String table(int month) {
+        return MOVEMENT_TABLE_PREFIX + month;
+    }
+
+    // Same UTC normalisation Hibernate applies when binding Instant columns
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
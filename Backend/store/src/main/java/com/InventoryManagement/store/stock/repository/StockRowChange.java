@@ -0,0 +1,49 @@
+package com.InventoryManagement.store.stock.repository;
+
+import java.time.Instant;
+
+// What one write did to one quantity column of one stock row, read back from the same statement.
+// occurredAt is taken while the row lock is held, so per item it follows commit order.
+public final class StockRowChange {
+
+    // ADD/SET: direct adjustments; NET: write-behind flush of netted adjustments;
+    // TRANSFER: one side of a move; IMPORT: a CSV import line
+    public enum Kind { ADD, SET, NET, TRANSFER, IMPORT }
+
+    private final long itemId;
+    private final String category;
+    private final String item;
+    private final StockWriter.Column column;
+    private final Kind kind;
+    private final long requested;
+    private final long before;
+    private final long after;
+    private final String actor;
+    private final Instant occurredAt;
+
+    public StockRowChange(long itemId, String category, String item, StockWriter.Column column, Kind kind,
+                          long requested, long before, long after, String actor, Instant occurredAt) {
+        this.itemId = itemId;
+        this.category = category;
+        this.item = item;
+        this.column = column;
+        this.kind = kind;
+        this.requested = requested;
+        this.before = before;
+        this.after = after;
+        this.actor = actor;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getItemId() { return itemId; }
+    public String getCategory() { return category; }
+    public String getItem() { return item; }
+    public StockWriter.Column getColumn() { return column; }
+    public Kind getKind() { return kind; }
+    public long getRequested() { return requested; }
+    public long getBefore() { return before; }
+    public long getAfter() { return after; }
+    public long getDelta() { return after - before; }
+    public String getActor() { return actor; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
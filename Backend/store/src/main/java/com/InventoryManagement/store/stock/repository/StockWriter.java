@@ -0,0 +1,300 @@
+package com.InventoryManagement.store.stock.repository;
+
+import com.InventoryManagement.store.common.cache.BoundedCache;
+import com.InventoryManagement.store.stock.entity.StockItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Single-statement stock writes. Quantities change inside the UPDATE itself, so concurrent
+// adjustments of one item serialise on its row lock instead of overwriting each other.
+// Items are resolved through lookup_key (see StockItem.lookupKeyOf) and a bounded key -> id
+// cache, so a known item costs exactly one UPDATE by primary key and no lookup.
+@Repository
+public class StockWriter {
+
+    public enum Column {
+        WAREHOUSE("warehouse_qty"),
+        SHELF("shelf_qty");
+
+        private final String sql;
+
+        Column(String sql) { this.sql = sql; }
+
+        public String sql() { return sql; }
+    }
+
+    private static final int APPLY_BATCH = 500;
+
+    private final JdbcTemplate jdbc;
+    private final BoundedCache<String, Long> ids;
+
+    public StockWriter(JdbcTemplate jdbc,
+                       @Value("${app.stock.id-cache.max-entries:100000}") int maxCachedIds) {
+        this.jdbc = jdbc;
+        this.ids = new BoundedCache<>(maxCachedIds);
+    }
+
+    // qty = max(0, qty + delta)
+    public StockRowChange add(String category, String item, Column column, long delta, String actor) {
+        return write(category, item, column, 1, delta, actor);
+    }
+
+    // qty = quantity
+    public StockRowChange set(String category, String item, Column column, long quantity, String actor) {
+        return write(category, item, column, 0, quantity, actor);
+    }
+
+    // Netted changes from StockWriteBuffer (kind NET) or CSV import lines (kind IMPORT). Must run in
+    // a transaction: each chunk locks its rows, creates the missing ones in one batch, computes the
+    // new quantities and writes them back as one JDBC batch. NET reports every column an adjustment
+    // addressed; IMPORT reports only columns whose quantity actually changed.
+    public List<StockRowChange> applyAll(List<StockChange> changes, StockRowChange.Kind kind) {
+        List<StockRowChange> out = new ArrayList<>();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int from = 0; from < changes.size(); from += APPLY_BATCH) {
+            List<StockChange> chunk = changes.subList(from, Math.min(changes.size(), from + APPLY_BATCH));
+            List<String> keys = new ArrayList<>(chunk.size());
+            for (StockChange c : chunk) keys.add(StockChange.key(c.getCategory(), c.getItem()));
+
+            Map<String, long[]> rows = lockRows(keys);
+            List<StockChange> missing = new ArrayList<>();
+            List<String> missingKeys = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (!rows.containsKey(keys.get(i))) {
+                    missing.add(chunk.get(i));
+                    missingKeys.add(keys.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                createAll(missing, missingKeys);
+                rows.putAll(lockRows(missingKeys));
+            }
+
+            List<long[]> updates = new ArrayList<>(chunk.size()); // id, warehouse, shelf
+            for (int i = 0; i < chunk.size(); i++) {
+                StockChange c = chunk.get(i);
+                long[] row = rows.get(keys.get(i));
+                if (row == null) {
+                    throw new IllegalStateException("Stock row for '" + c.getCategory() + "/" + c.getItem() + "' has no lookup key yet");
+                }
+                updates.add(new long[] {row[0], c.getWarehouse().apply(row[1]), c.getShelf().apply(row[2])});
+            }
+            Calendar utc = utc();
+            jdbc.batchUpdate("update stock_items set warehouse_qty = ?, shelf_qty = ?, updated_at = ? where id = ?",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            long[] u = updates.get(i);
+                            ps.setLong(1, u[1]);
+                            ps.setLong(2, u[2]);
+                            ps.setTimestamp(3, now, utc);
+                            ps.setLong(4, u[0]);
+                        }
+
+                        @Override
+                        public int getBatchSize() { return updates.size(); }
+                    });
+            // Rows stay locked until commit, so this time orders after every earlier write to them
+            Instant at = Instant.now();
+            for (int i = 0; i < chunk.size(); i++) {
+                StockChange c = chunk.get(i);
+                long[] row = rows.get(keys.get(i));
+                long[] u = updates.get(i);
+                boolean net = kind == StockRowChange.Kind.NET;
+                if (u[1] != row[1] || (net && c.getWarehouse().isTouched())) {
+                    out.add(new StockRowChange(row[0], c.getCategory(), c.getItem(), Column.WAREHOUSE,
+                            kind, u[1] - row[1], row[1], u[1], c.getActor(), at));
+                }
+                if (u[2] != row[2] || (net && c.getShelf().isTouched())) {
+                    out.add(new StockRowChange(row[0], c.getCategory(), c.getItem(), Column.SHELF,
+                            kind, u[2] - row[2], row[2], u[2], c.getActor(), at));
+                }
+            }
+        }
+        return out;
+    }
+
+    // lookup_key -> id for existing rows: cached ids first, the rest with one IN query
+    public Map<String, Long> resolveIds(Collection<String> keys) {
+        Map<String, Long> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : keys) {
+            Long id = ids.get(key);
+            if (id != null) found.put(key, id); else misses.add(key);
+        }
+        for (int from = 0; from < misses.size(); from += APPLY_BATCH) {
+            List<String> chunk = misses.subList(from, Math.min(misses.size(), from + APPLY_BATCH));
+            String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbc.query("select id, lookup_key from stock_items where lookup_key in (" + in + ")", rs -> {
+                found.put(rs.getString(2), rs.getLong(1));
+                ids.put(rs.getString(2), rs.getLong(1));
+            }, chunk.toArray());
+        }
+        return found;
+    }
+
+    // Forgets cached ids, e.g. after a guarded update found no row behind one
+    public void invalidateIds(Collection<String> keys) {
+        for (String key : keys) ids.invalidate(key);
+    }
+
+    // Moves quantity from one column to another, one guarded UPDATE per {id, quantity} sent as a
+    // single JDBC batch. A count of 0 means the row is gone or holds less than the quantity in
+    // `from`; the caller must then roll back. Pass ids in ascending order so concurrent transfers
+    // lock rows in the same order.
+    public int[] move(List<long[]> moves, Column from, Column to) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = utc();
+        return jdbc.batchUpdate("update stock_items set " + from.sql + " = " + from.sql + " - ?, "
+                        + to.sql + " = " + to.sql + " + ?, updated_at = ? where id = ? and " + from.sql + " >= ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        long[] m = moves.get(i);
+                        ps.setLong(1, m[1]);
+                        ps.setLong(2, m[1]);
+                        ps.setTimestamp(3, now, utc);
+                        ps.setLong(4, m[0]);
+                        ps.setLong(5, m[1]);
+                    }
+
+                    @Override
+                    public int getBatchSize() { return moves.size(); }
+                });
+    }
+
+    // id -> {warehouse_qty, shelf_qty}
+    public Map<Long, long[]> quantities(List<Long> rowIds) {
+        Map<Long, long[]> out = new HashMap<>();
+        for (int from = 0; from < rowIds.size(); from += APPLY_BATCH) {
+            List<Long> chunk = rowIds.subList(from, Math.min(rowIds.size(), from + APPLY_BATCH));
+            String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbc.query("select id, warehouse_qty, shelf_qty from stock_items where id in (" + in + ")",
+                    rs -> { out.put(rs.getLong(1), new long[] {rs.getLong(2), rs.getLong(3)}); },
+                    chunk.toArray());
+        }
+        return out;
+    }
+
+    // new = max(0, old * keep + value); keep is 1 for add and 0 for set
+    private StockRowChange write(String category, String item, Column column, long keep, long value, String actor) {
+        String key = StockItem.lookupKeyOf(category, item);
+        Long id = ids.computeIfAbsent(key, this::findId);
+        if (id == null) id = create(category, item, key);
+        Long before = update(id, column, keep, value);
+        if (before == null) {
+            // The row went away (merged or deleted) since it was cached
+            ids.invalidate(key);
+            id = create(category, item, key);
+            before = update(id, column, keep, value);
+            if (before == null) throw new IllegalStateException("Stock row " + id + " vanished during update");
+        }
+        return new StockRowChange(id, category, item, column,
+                keep == 1 ? StockRowChange.Kind.ADD : StockRowChange.Kind.SET, value,
+                before, Math.max(0, before * keep + value), actor, Instant.now());
+    }
+
+    // One UPDATE by primary key that also reports the previous quantity: LAST_INSERT_ID(expr)
+    // records old + 1 (so 0 is not mistaken for "no key") and MySQL returns it in the OK packet,
+    // which the driver exposes as the generated key. Null when the row does not exist.
+    private Long update(long id, Column column, long keep, long value) {
+        String sql = "update stock_items set " + column.sql + " = greatest(0, "
+                + "(cast(last_insert_id(" + column.sql + " + 1) as signed) - 1) * ? + ?), updated_at = ? where id = ?";
+        KeyHolder keys = new GeneratedKeyHolder();
+        int updated = jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, keep);
+            ps.setLong(2, value);
+            ps.setTimestamp(3, Timestamp.from(Instant.now()), utc());
+            ps.setLong(4, id);
+            return ps;
+        }, keys);
+        if (updated == 0) return null;
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.isEmpty()) throw new IllegalStateException("Previous quantity not reported for stock row " + id);
+        return ((Number) generated.get(0).values().iterator().next()).longValue() - 1;
+    }
+
+    // Ensures a row exists for the key (quantities 0) and returns its id
+    private long create(String category, String item, String key) {
+        jdbc.update(
+                "insert into stock_items (category, item_name, lookup_key, warehouse_qty, shelf_qty, updated_at) "
+                        + "values (?, ?, ?, 0, 0, ?) on duplicate key update id = id",
+                ps -> {
+                    ps.setString(1, category);
+                    ps.setString(2, item);
+                    ps.setString(3, key);
+                    ps.setTimestamp(4, Timestamp.from(Instant.now()), utc());
+                });
+        Long id = findId(key);
+        if (id != null) {
+            ids.put(key, id);
+            return id;
+        }
+        // A legacy row (matched by category, item_name) not yet backfilled holds the item
+        List<Long> legacy = jdbc.queryForList(
+                "select id from stock_items where category = ? and item_name = ?", Long.class, category, item);
+        if (legacy.isEmpty()) throw new IllegalStateException("Stock row for '" + category + "/" + item + "' not found after insert");
+        return legacy.get(0);
+    }
+
+    // Zero-quantity rows for keys that have none yet, as one batch (rewritten into multi-row inserts)
+    private void createAll(List<StockChange> changes, List<String> keys) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = utc();
+        jdbc.batchUpdate("insert into stock_items (category, item_name, lookup_key, warehouse_qty, shelf_qty, updated_at) "
+                        + "values (?, ?, ?, 0, 0, ?) on duplicate key update id = id",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, changes.get(i).getCategory());
+                        ps.setString(2, changes.get(i).getItem());
+                        ps.setString(3, keys.get(i));
+                        ps.setTimestamp(4, now, utc);
+                    }
+
+                    @Override
+                    public int getBatchSize() { return changes.size(); }
+                });
+    }
+
+    private Long findId(String key) {
+        List<Long> found = jdbc.queryForList("select id from stock_items where lookup_key = ?", Long.class, key);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // lookup_key -> {id, warehouse_qty, shelf_qty}, row-locked until the transaction ends
+    private Map<String, long[]> lockRows(List<String> keys) {
+        String in = String.join(",", Collections.nCopies(keys.size(), "?"));
+        Map<String, long[]> rows = new HashMap<>();
+        jdbc.query("select id, lookup_key, warehouse_qty, shelf_qty from stock_items where lookup_key in (" + in + ") for update",
+                rs -> {
+                    rows.put(rs.getString(2), new long[] {rs.getLong(1), rs.getLong(3), rs.getLong(4)});
+                },
+                keys.toArray());
+        return rows;
+    }
+
+    // Same UTC normalisation Hibernate applies when binding Instant columns
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
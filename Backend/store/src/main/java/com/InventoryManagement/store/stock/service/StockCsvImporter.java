@@ -0,0 +1,192 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.common.csv.CsvReader;
+import com.InventoryManagement.store.stock.dto.StockImportResponse;
+import com.InventoryManagement.store.stock.entity.StockItem;
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockChange;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Full-stock CSV import: header `category,item,warehouse_qty,shelf_qty` (item_name is accepted for
+// item, other columns are ignored, either quantity column may be left out). Each line sets the
+// quantities it carries. Lines are read one at a time and applied in chunks of chunk-size
+// items, each its own transaction, so memory stays flat however long the file is. A failing
+// chunk is reported and skipped, and the chunks before it stay committed.
+@Component
+public class StockCsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCsvImporter.class);
+    private static final int MAX_CATEGORY = 100;
+    private static final int MAX_ITEM = 200;
+
+    private final StockWriter writer;
+    private final StockWriteBuffer buffer;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public StockCsvImporter(StockWriter writer, StockWriteBuffer buffer, ApplicationEventPublisher events,
+                            PlatformTransactionManager txManager,
+                            @Value("${app.stock.import.chunk-size:1000}") int chunkSize,
+                            @Value("${app.stock.import.max-errors:1000}") int maxErrors) {
+        this.writer = writer;
+        this.buffer = buffer;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = Math.max(0, maxErrors);
+    }
+
+    public StockImportResponse importCsv(InputStream body, String actor) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024));
+        StockImportResponse report = new StockImportResponse();
+        List<String> header = csv.next();
+        if (header == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV is empty");
+        Columns cols = Columns.of(header);
+        report.lines = 1;
+
+        Chunk chunk = new Chunk();
+        try {
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                report.lines = csv.recordLine();
+                String problem = chunk.add(cols, record, actor, csv.recordLine());
+                if (problem != null) error(report, csv.recordLine(), problem, 1);
+                else if (chunk.size() >= chunkSize) {
+                    apply(chunk, report);
+                    chunk = new Chunk();
+                }
+            }
+        } catch (CsvReader.CsvFormatException e) {
+            // Resynchronising after a broken quote would misread the rest of the file
+            report.complete = false;
+            error(report, e.getLine(), e.getMessage(), 1);
+        }
+        if (chunk.size() > 0) apply(chunk, report);
+        return report;
+    }
+
+    private void apply(Chunk chunk, StockImportResponse report) {
+        List<StockChange> changes = new ArrayList<>(chunk.changes.values());
+        buffer.flushIfPending(chunk.changes.keySet());
+        try {
+            tx.executeWithoutResult(s -> {
+                List<StockRowChange> applied = writer.applyAll(changes, StockRowChange.Kind.IMPORT);
+                if (!applied.isEmpty()) events.publishEvent(new StockChangeEvent(applied));
+            });
+            report.applied += chunk.size();
+            report.merged += chunk.lines - chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Stock import chunk at lines {}-{} failed", chunk.firstLine, chunk.lastLine, e);
+            error(report, chunk.firstLine, "Lines " + chunk.firstLine + "-" + chunk.lastLine + " not applied: "
+                    + mostSpecific(e), chunk.lines);
+        }
+    }
+
+    private void error(StockImportResponse report, long line, String message, long lines) {
+        report.failed += lines;
+        if (report.errors.size() < maxErrors) report.errors.add(new StockImportResponse.LineError(line, message));
+        else report.errorsTruncated = true;
+    }
+
+    private static String mostSpecific(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+    }
+
+    // Header positions; -1 when the column is absent
+    private record Columns(int category, int item, int warehouse, int shelf) {
+        static Columns of(List<String> header) {
+            int category = -1, item = -1, warehouse = -1, shelf = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+                switch (name) {
+                    case "category" -> category = i;
+                    case "item", "item_name" -> item = i;
+                    case "warehouse_qty" -> warehouse = i;
+                    case "shelf_qty" -> shelf = i;
+                    default -> { }
+                }
+            }
+            if (category < 0 || item < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must name category and item columns");
+            }
+            if (warehouse < 0 && shelf < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must name warehouse_qty and/or shelf_qty");
+            }
+            return new Columns(category, item, warehouse, shelf);
+        }
+    }
+
+    // Lines waiting for the next transaction; a repeated item keeps the later line's values
+    private static final class Chunk {
+        final Map<String, StockChange> changes = new LinkedHashMap<>();
+        long firstLine;
+        long lastLine;
+        long lines;
+
+        int size() { return changes.size(); }
+
+        // null when the line was queued, otherwise what is wrong with it
+        String add(Columns cols, List<String> record, String actor, long line) {
+            String category = cell(record, cols.category());
+            String item = cell(record, cols.item());
+            if (category.isEmpty() || item.isEmpty()) return "category and item are required";
+            if (category.length() > MAX_CATEGORY) return "category is longer than " + MAX_CATEGORY + " characters";
+            if (item.length() > MAX_ITEM) return "item is longer than " + MAX_ITEM + " characters";
+            Long warehouse, shelf;
+            try {
+                warehouse = quantity(record, cols.warehouse());
+                shelf = quantity(record, cols.shelf());
+            } catch (NumberFormatException e) {
+                return "quantities must be whole numbers >= 0";
+            }
+            if (warehouse == null && shelf == null) return "no quantity given";
+
+            StockChange change = changes.computeIfAbsent(StockItem.lookupKeyOf(category, item), k -> new StockChange(category, item));
+            if (warehouse != null) change.getWarehouse().set(warehouse);
+            if (shelf != null) change.getShelf().set(shelf);
+            change.recordActor(actor);
+            if (lines == 0) firstLine = line;
+            lastLine = line;
+            lines++;
+            return null;
+        }
+
+        private static String cell(List<String> record, int at) {
+            return at >= 0 && at < record.size() ? record.get(at).trim() : "";
+        }
+
+        private static Long quantity(List<String> record, int at) {
+            String v = cell(record, at);
+            if (v.isEmpty()) return null;
+            long q = Long.parseLong(v);
+            if (q < 0) throw new NumberFormatException();
+            return q;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.stock.dto.StockAsOfDto;
+import com.InventoryManagement.store.stock.dto.StockSummaryDto;
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockLedgerRepository;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Append-only movement ledger for stock_items. Committed StockChangeEvents are queued in memory and
+// written in batches every flush-ms, so adjustments pay no extra round trip; a crash loses at most
+// the unflushed queue, never stock itself. Snapshots copy stock_items on snapshot-cron, and
+// asOf(X) reads the newest snapshot at or before X and replays the movements after it.
+@Component
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+    private static final int FLUSH_BATCH = 5000;
+    // Longest a stock write transaction may stay open; movements stamped within this window before
+    // a snapshot may have committed after it, so replay starts that much earlier
+    private static final Duration REPLAY_OVERLAP = Duration.ofMinutes(5);
+
+    private final StockLedgerRepository store;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate snapshotTx;
+    private final TransactionTemplate readTx;
+    private final int maxQueued;
+    private final int keepSnapshots;
+    private final long flushMs;
+
+    private final ConcurrentLinkedDeque<StockRowChange> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Object flushMonitor = new Object();
+    // Flushes run on their own thread; the shared @Scheduled pool also runs the snapshot and rebuilds
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stock-ledger-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public StockLedger(StockLedgerRepository store,
+                       PlatformTransactionManager txManager,
+                       @Value("${app.stock.ledger.max-queued:1000000}") int maxQueued,
+                       @Value("${app.stock.ledger.keep-snapshots:90}") int keepSnapshots,
+                       @Value("${app.stock.ledger.flush-ms:500}") long flushMs) {
+        this.store = store;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.snapshotTx = new TransactionTemplate(txManager);
+        this.snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.maxQueued = maxQueued;
+        this.keepSnapshots = Math.max(1, keepSnapshots);
+        this.flushMs = Math.max(10, flushMs);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(StockChangeEvent event) {
+        for (StockRowChange c : event.getChanges()) {
+            // The ledger must never hold up stock writes; past the cap a long database outage costs history
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                log.error("Stock ledger queue is full ({}), dropping movement of item {}", maxQueued, c.getItemId());
+                continue;
+            }
+            queue.addLast(c);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Stock ledger flush failed", e);
+            }
+        }, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        synchronized (flushMonitor) {
+            while (!queue.isEmpty()) {
+                List<StockRowChange> batch = new ArrayList<>(Math.min(FLUSH_BATCH, queued.get()));
+                StockRowChange c;
+                while (batch.size() < FLUSH_BATCH && (c = queue.pollFirst()) != null) batch.add(c);
+                queued.addAndGet(-batch.size());
+                Map<Integer, List<StockRowChange>> byMonth = new TreeMap<>();
+                for (StockRowChange m : batch) {
+                    byMonth.computeIfAbsent(StockLedgerRepository.monthOf(m.getOccurredAt()), k -> new ArrayList<>()).add(m);
+                }
+                try {
+                    // Tables first, each DDL in its own autocommit; a batch spanning a month boundary
+                    // then commits or rolls back as a whole, so a retry never writes movements twice
+                    byMonth.keySet().forEach(store::ensureMonth);
+                    writeTx.executeWithoutResult(s -> byMonth.forEach(store::insertMovements));
+                } catch (RuntimeException e) {
+                    log.warn("Stock ledger flush of {} movements failed, retrying later", batch.size(), e);
+                    for (int i = batch.size() - 1; i >= 0; i--) queue.addFirst(batch.get(i));
+                    queued.addAndGet(batch.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+        if (queued.get() > 0) log.error("{} stock movements could not be written to the ledger during shutdown", queued.get());
+    }
+
+    // First snapshot right after deploy, so point-in-time reads have a base from day one
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            if (!store.hasSnapshot()) snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Initial stock snapshot failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.stock.ledger.snapshot-cron:0 0 2 * * *}")
+    public void snapshot() {
+        long started = System.nanoTime();
+        Instant takenAt = Instant.now();
+        Long id = snapshotTx.execute(s -> store.takeSnapshot(takenAt));
+        int pruned = writeTx.execute(s -> store.pruneSnapshots(keepSnapshots));
+        log.info("Stock snapshot {} taken in {} ms, {} old snapshots pruned",
+                id, (System.nanoTime() - started) / 1_000_000, pruned);
+    }
+
+    // Each (item, column) ends at the quantity of its last movement at or before `at`, or its
+    // snapshot value if it did not move. Movements not flushed yet (see flush-ms) are not included.
+    public StockAsOfDto asOf(Instant at, String category) {
+        StockAsOfDto dto = new StockAsOfDto();
+        dto.at = at;
+        Map<Long, StockAsOfDto.Item> items = new HashMap<>();
+        StockLedgerRepository.MovementHandler apply = (itemId, cat, item, column, after) -> {
+            StockAsOfDto.Item row = items.computeIfAbsent(itemId, k -> {
+                StockAsOfDto.Item n = new StockAsOfDto.Item();
+                n.itemId = k;
+                return n;
+            });
+            row.category = cat;
+            row.item = item;
+            if (column == StockWriter.Column.WAREHOUSE) row.warehouseQty = after; else row.shelfQty = after;
+        };
+        readTx.executeWithoutResult(s -> {
+            StockLedgerRepository.SnapshotRef base = store.latestSnapshotAtOrBefore(at);
+            Instant from = null;
+            if (base != null) {
+                dto.snapshotAt = base.takenAt();
+                store.snapshotRows(base.id(), category, apply);
+                from = base.takenAt().minus(REPLAY_OVERLAP);
+            }
+            dto.movementsReplayed = store.replay(from, at, category, apply);
+        });
+
+        dto.totals = new StockSummaryDto.Totals();
+        Map<String, StockSummaryDto.CategoryBreakdown> categories = new LinkedHashMap<>();
+        for (StockAsOfDto.Item row : items.values()) {
+            dto.totals.warehouse += row.warehouseQty;
+            dto.totals.shelf += row.shelfQty;
+            StockSummaryDto.CategoryBreakdown c = categories.computeIfAbsent(StockTotals.categoryKey(row.category), k -> {
+                StockSummaryDto.CategoryBreakdown n = new StockSummaryDto.CategoryBreakdown();
+                n.category = row.category == null ? "" : row.category.trim();
+                return n;
+            });
+            c.warehouseQty += row.warehouseQty;
+            c.shelfQty += row.shelfQty;
+        }
+        dto.totals.combined = dto.totals.warehouse + dto.totals.shelf;
+        dto.categories = new ArrayList<>(categories.values());
+        if (category != null) {
+            dto.items = new ArrayList<>(items.values());
+            dto.items.sort(Comparator.comparing((StockAsOfDto.Item i) -> i.item, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingLong(i -> i.itemId));
+        }
+        return dto;
+    }
+}
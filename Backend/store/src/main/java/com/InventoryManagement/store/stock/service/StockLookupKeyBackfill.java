@@ -0,0 +1,80 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.stock.entity.StockItem;
+import com.InventoryManagement.store.stock.repository.StockItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// Fills stock_items.lookup_key on rows written before the column existed. Rows whose category and
+// item only differed by case or surrounding spaces are one item under the new key: their
+// quantities are folded into the row that already holds the key and the extra rows removed.
+// It runs while requests are served and StockWriter still falls back to legacy rows, so both rows
+// are locked (SELECT ... FOR UPDATE) before the merge, and every write is a relative or single-column
+// UPDATE: no concurrent increment is overwritten, and none lands on a row after it is read for deletion.
+@Component
+public class StockLookupKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLookupKeyBackfill.class);
+
+    private final StockItemRepository repo;
+    private final TransactionTemplate tx;
+
+    public StockLookupKeyBackfill(StockItemRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int keyed = 0;
+        int merged = 0;
+        try {
+            while (true) {
+                int[] chunk = tx.execute(s -> backfillChunk());
+                if (chunk == null || chunk[0] + chunk[1] == 0) break;
+                keyed += chunk[0];
+                merged += chunk[1];
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stock lookup key backfill stopped, it will resume on the next start", e);
+        }
+        if (keyed + merged > 0) log.info("Stock lookup keys: {} rows keyed, {} duplicate rows merged", keyed, merged);
+    }
+
+    private int[] backfillChunk() {
+        List<StockItem> rows = repo.findTop500ByLookupKeyIsNullOrderByIdAsc();
+        int keyed = 0;
+        int merged = 0;
+        for (StockItem legacy : rows) {
+            long rowId = legacy.getId();
+            String key = StockItem.lookupKeyOf(legacy.getCategory(), legacy.getItemName());
+            Optional<Long> ownerId = repo.findIdByLookupKey(key);
+            if (ownerId.isEmpty()) {
+                keyed += repo.assignLookupKey(rowId, key);
+                continue;
+            }
+            // Quantities read under the lock cannot move before the row is deleted
+            StockItem row = null;
+            StockItem owner = null;
+            for (StockItem locked : repo.lockByIds(List.of(rowId, ownerId.get()))) {
+                if (locked.getId() == rowId) row = locked; else owner = locked;
+            }
+            // Either row went away since it was looked up; the next chunk sees the current state
+            if (row == null || owner == null || row.getLookupKey() != null) continue;
+            log.warn("Merging stock row {} ('{}' / '{}') into row {}", rowId, row.getCategory(), row.getItemName(), ownerId.get());
+            repo.addQuantities(ownerId.get(), row.getWarehouseQty(), row.getShelfQty(), Instant.now());
+            repo.deleteRow(rowId);
+            merged++;
+        }
+        return new int[] {keyed, merged};
+    }
+}
@@ -1,10 +1,26 @@
 package com.InventoryManagement.store.stock.service;
 
 import com.InventoryManagement.store.stock.dto.AdjustStockRequest;
+import com.InventoryManagement.store.stock.dto.StockAsOfDto;
+import com.InventoryManagement.store.stock.dto.StockExportRow;
+import com.InventoryManagement.store.stock.dto.StockImportResponse;
 import com.InventoryManagement.store.stock.dto.StockSummaryDto;
+import com.InventoryManagement.store.stock.dto.StockTotalsDriftDto;
+import com.InventoryManagement.store.stock.dto.TransferStockRequest;
+import com.InventoryManagement.store.stock.dto.TransferStockResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.function.Consumer;
 
 public interface StockService {
     StockSummaryDto summary();
-    void adjustWarehouse(AdjustStockRequest req);
-    void adjustShelf(AdjustStockRequest req);
+    StockTotalsDriftDto totalsDrift();
+    StockAsOfDto asOf(Instant at, String category);
+    void adjustWarehouse(AdjustStockRequest req, String actor);
+    void adjustShelf(AdjustStockRequest req, String actor);
+    TransferStockResponse transfer(TransferStockRequest req, String actor);
+    StockImportResponse importCsv(InputStream csv, String actor) throws IOException;
+    void streamExport(Consumer<StockExportRow> sink);
 }
@@ -1,73 +1,296 @@
 package com.InventoryManagement.store.stock.service;
 
 import com.InventoryManagement.store.stock.dto.AdjustStockRequest;
+import com.InventoryManagement.store.stock.dto.StockAsOfDto;
+import com.InventoryManagement.store.stock.dto.StockExportRow;
+import com.InventoryManagement.store.stock.dto.StockImportResponse;
 import com.InventoryManagement.store.stock.dto.StockSummaryDto;
+import com.InventoryManagement.store.stock.dto.StockTotalsDriftDto;
+import com.InventoryManagement.store.stock.dto.TransferStockRequest;
+import com.InventoryManagement.store.stock.dto.TransferStockResponse;
 import com.InventoryManagement.store.stock.entity.StockItem;
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockChange;
 import com.InventoryManagement.store.stock.repository.StockItemRepository;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class StockServiceImpl implements StockService {
 
+    // Upper bound for IN (...) lists sent to the database
+    private static final int LOOKUP_CHUNK = 1000;
+
     private final StockItemRepository repo;
+    private final StockWriter writer;
+    private final StockWriteBuffer buffer;
+    private final StockTotals totals;
+    private final StockLedger ledger;
+    private final StockCsvImporter importer;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readTx;
+    private final int maxTransferItems;
 
-    public StockServiceImpl(StockItemRepository repo) { this.repo = repo; }
+    public StockServiceImpl(StockItemRepository repo, StockWriter writer, StockWriteBuffer buffer,
+                            StockTotals totals, StockLedger ledger, StockCsvImporter importer,
+                            ApplicationEventPublisher events,
+                            PlatformTransactionManager txManager,
+                            @Value("${app.stock.transfer.max-items:1000}") int maxTransferItems) {
+        this.repo = repo;
+        this.writer = writer;
+        this.buffer = buffer;
+        this.totals = totals;
+        this.ledger = ledger;
+        this.importer = importer;
+        this.events = events;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.maxTransferItems = maxTransferItems;
+    }
 
+    // In-memory totals (StockTotals) plus anything still waiting in the write-behind buffer.
+    // Only buffered items are read from the database, by lookup key, to value their pending change.
     @Override
-    @Transactional(readOnly = true)
     public StockSummaryDto summary() {
-        long w = repo.sumWarehouse();
-        long s = repo.sumShelf();
-        StockSummaryDto dto = new StockSummaryDto();
-        dto.totals = new StockSummaryDto.Totals();
-        dto.totals.warehouse = w; dto.totals.shelf = s; dto.totals.combined = w + s;
-        dto.pie = new StockSummaryDto.Pie();
-        dto.pie.warehouse = w; dto.pie.shelf = s;
-        dto.categories = repo.groupByCategory().stream().map(a -> {
-            StockSummaryDto.CategoryBreakdown c = new StockSummaryDto.CategoryBreakdown();
-            c.category = a.getCategory();
-            c.warehouseQty = a.getWarehouseQty() == null ? 0 : a.getWarehouseQty();
-            c.shelfQty = a.getShelfQty() == null ? 0 : a.getShelfQty();
-            return c;
-        }).toList();
-        return dto;
+        return buffer.withPending(pending -> {
+            StockSummaryDto dto = totals.snapshot();
+            if (!pending.isEmpty()) readTx.executeWithoutResult(status -> overlay(dto, pending.values()));
+            return dto;
+        });
+    }
+
+    private void overlay(StockSummaryDto dto, Collection<StockChange> pending) {
+        Map<String, StockSummaryDto.CategoryBreakdown> categories = new LinkedHashMap<>();
+        for (StockSummaryDto.CategoryBreakdown c : dto.categories) categories.put(StockTotals.categoryKey(c.category), c);
+        Map<String, StockItem> current = currentRows(pending);
+        for (StockChange change : pending) {
+            StockItem row = current.get(StockChange.key(change.getCategory(), change.getItem()));
+            long oldW = row == null ? 0 : row.getWarehouseQty();
+            long oldS = row == null ? 0 : row.getShelfQty();
+            long dW = change.getWarehouse().apply(oldW) - oldW;
+            long dS = change.getShelf().apply(oldS) - oldS;
+            dto.totals.warehouse += dW;
+            dto.totals.shelf += dS;
+            String category = row == null ? change.getCategory() : row.getCategory();
+            StockSummaryDto.CategoryBreakdown c = categories.computeIfAbsent(StockTotals.categoryKey(category), k -> {
+                StockSummaryDto.CategoryBreakdown n = new StockSummaryDto.CategoryBreakdown();
+                n.category = category.trim();
+                return n;
+            });
+            c.warehouseQty += dW;
+            c.shelfQty += dS;
+        }
+        dto.totals.combined = dto.totals.warehouse + dto.totals.shelf;
+        dto.pie.warehouse = dto.totals.warehouse;
+        dto.pie.shelf = dto.totals.shelf;
+        dto.categories = new ArrayList<>(categories.values());
     }
 
     @Override
-    @Transactional
-    public void adjustWarehouse(AdjustStockRequest req) {
-        adjust(req, true);
+    public StockTotalsDriftDto totalsDrift() {
+        return totals.drift();
     }
 
     @Override
-    @Transactional
-    public void adjustShelf(AdjustStockRequest req) {
-        adjust(req, false);
+    public StockAsOfDto asOf(Instant at, String category) {
+        if (at == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at is required");
+        if (at.isAfter(Instant.now())) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at must not be in the future");
+        String cat = (category != null && !category.isBlank()) ? category.trim() : null;
+        return ledger.asOf(at, cat);
     }
 
-    private void adjust(AdjustStockRequest req, boolean isWarehouse) {
-        if (req == null || req.quantity <= 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be > 0");
-        String category = (req.category != null && !req.category.isBlank()) ? req.category : null;
-        String item = (req.item != null && !req.item.isBlank()) ? req.item : null;
-        if (category == null || item == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category and item are required");
-        StockItem s = repo.findByCategoryIgnoreCaseAndItemNameIgnoreCase(category, item).orElseGet(() -> {
-            StockItem n = new StockItem();
-            n.setCategory(category);
-            n.setItemName(item);
-            return n;
+    // Stored rows for the buffered items, keyed like the buffer
+    private Map<String, StockItem> currentRows(Collection<StockChange> pending) {
+        List<String> keys = pending.stream().map(c -> StockChange.key(c.getCategory(), c.getItem())).toList();
+        Map<String, StockItem> rows = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += LOOKUP_CHUNK) {
+            for (StockItem row : repo.findByLookupKeyIn(keys.subList(from, Math.min(keys.size(), from + LOOKUP_CHUNK)))) {
+                rows.put(row.getLookupKey(), row);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void adjustWarehouse(AdjustStockRequest req, String actor) {
+        adjust(req, StockWriter.Column.WAREHOUSE, actor);
+    }
+
+    @Override
+    public void adjustShelf(AdjustStockRequest req, String actor) {
+        adjust(req, StockWriter.Column.SHELF, actor);
+    }
+
+    @Override
+    public StockImportResponse importCsv(InputStream csv, String actor) throws IOException {
+        return importer.importCsv(csv, actor);
+    }
+
+    // Rows in id order straight off a database cursor; the sink runs inside the read transaction
+    @Override
+    public void streamExport(Consumer<StockExportRow> sink) {
+        readTx.executeWithoutResult(status -> {
+            try (Stream<StockExportRow> rows = repo.streamExportRows()) {
+                rows.forEach(sink);
+            }
+        });
+    }
+
+    // All lines move in one transaction: the rows are updated in id order by one guarded statement
+    // each, sent as a single batch, and any line the source cannot cover rolls everything back
+    @Override
+    public TransferStockResponse transfer(TransferStockRequest req, String actor) {
+        if (req == null || req.items == null || req.items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one item is required");
+        }
+        if (req.items.size() > maxTransferItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxTransferItems + " items per transfer");
+        }
+        StockWriter.Column from = location(req.from);
+        StockWriter.Column to = location(req.to);
+        if (from == to) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from and to must differ");
+
+        // Repeated items are moved once with their quantities summed
+        Map<String, TransferStockRequest.Line> lines = new LinkedHashMap<>();
+        for (TransferStockRequest.Line line : req.items) {
+            String category = line == null || line.category == null || line.category.isBlank() ? null : line.category.trim();
+            String item = line == null || line.item == null || line.item.isBlank() ? null : line.item.trim();
+            if (category == null || item == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category and item are required");
+            if (line.quantity <= 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be > 0");
+            TransferStockRequest.Line merged = lines.computeIfAbsent(StockItem.lookupKeyOf(category, item), k -> {
+                TransferStockRequest.Line n = new TransferStockRequest.Line();
+                n.category = category;
+                n.item = item;
+                return n;
+            });
+            merged.quantity = Math.addExact(merged.quantity, line.quantity);
+        }
+        buffer.flushIfPending(lines.keySet());
+
+        List<StockRowChange> changes = writeTx.execute(status -> {
+            Map<String, Long> ids = writer.resolveIds(lines.keySet());
+            List<Map.Entry<String, TransferStockRequest.Line>> ordered = new ArrayList<>(lines.entrySet());
+            for (Map.Entry<String, TransferStockRequest.Line> e : ordered) {
+                if (!ids.containsKey(e.getKey())) throw shortage(e.getValue(), from);
+            }
+            ordered.sort(Comparator.comparingLong(e -> ids.get(e.getKey())));
+            List<long[]> moves = new ArrayList<>(ordered.size());
+            for (Map.Entry<String, TransferStockRequest.Line> e : ordered) moves.add(new long[] {ids.get(e.getKey()), e.getValue().quantity});
+
+            int[] counts = writer.move(moves, from, to);
+            List<Integer> missed = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) missed.add(i);
+            }
+            if (!missed.isEmpty()) retryStale(ordered, moves, missed, from, to);
+            // Rows are locked by the updates, so before = after -/+ quantity exactly
+            Map<Long, long[]> after = writer.quantities(moves.stream().map(m -> m[0]).toList());
+            Instant at = Instant.now();
+            List<StockRowChange> out = new ArrayList<>(ordered.size() * 2);
+            for (int i = 0; i < ordered.size(); i++) {
+                TransferStockRequest.Line line = ordered.get(i).getValue();
+                long id = moves.get(i)[0];
+                long[] q = after.get(id);
+                long fromAfter = q[from.ordinal()]; // q is {warehouse, shelf}, in Column order
+                long toAfter = q[to.ordinal()];
+                out.add(new StockRowChange(id, line.category, line.item, from, StockRowChange.Kind.TRANSFER,
+                        -line.quantity, fromAfter + line.quantity, fromAfter, actor, at));
+                out.add(new StockRowChange(id, line.category, line.item, to, StockRowChange.Kind.TRANSFER,
+                        line.quantity, toAfter - line.quantity, toAfter, actor, at));
+            }
+            events.publishEvent(new StockChangeEvent(out));
+            return out;
         });
-        if ("set".equalsIgnoreCase(req.mode)) {
-            if (isWarehouse) s.setWarehouseQty(req.quantity); else s.setShelfQty(req.quantity);
-        } else {
-            if (isWarehouse) s.setWarehouseQty(Math.max(0, s.getWarehouseQty() + req.quantity));
-            else s.setShelfQty(Math.max(0, s.getShelfQty() + req.quantity));
+
+        TransferStockResponse res = new TransferStockResponse();
+        res.from = from.name().toLowerCase(Locale.ROOT);
+        res.to = to.name().toLowerCase(Locale.ROOT);
+        res.items = new ArrayList<>(changes.size() / 2);
+        for (int i = 0; i < changes.size(); i += 2) {
+            StockRowChange src = changes.get(i);
+            TransferStockResponse.Line line = new TransferStockResponse.Line();
+            line.itemId = src.getItemId();
+            line.category = src.getCategory();
+            line.item = src.getItem();
+            line.quantity = -src.getRequested();
+            line.fromQty = src.getAfter();
+            line.toQty = changes.get(i + 1).getAfter();
+            res.items.add(line);
+        }
+        return res;
+    }
+
+    // A 0 count may only mean the cached id points at a row merged away or deleted since it was
+    // cached (as write() in StockWriter handles). Those keys are re-resolved once and moved again
+    // under their current ids; a line still not moved, or whose id did not change, is a shortage.
+    private void retryStale(List<Map.Entry<String, TransferStockRequest.Line>> ordered, List<long[]> moves,
+                            List<Integer> missed, StockWriter.Column from, StockWriter.Column to) {
+        List<String> keys = missed.stream().map(i -> ordered.get(i).getKey()).toList();
+        writer.invalidateIds(keys);
+        Map<String, Long> fresh = writer.resolveIds(keys);
+        for (int i : missed) {
+            Long id = fresh.get(ordered.get(i).getKey());
+            if (id == null || id == moves.get(i)[0]) throw shortage(ordered.get(i).getValue(), from);
+            moves.get(i)[0] = id;
+        }
+        List<Integer> retry = new ArrayList<>(missed);
+        retry.sort(Comparator.comparingLong(i -> moves.get(i)[0]));
+        int[] counts = writer.move(retry.stream().map(moves::get).toList(), from, to);
+        for (int j = 0; j < counts.length; j++) {
+            if (counts[j] == 0) throw shortage(ordered.get(retry.get(j)).getValue(), from);
         }
-        repo.save(s);
     }
-}
 
+    private static StockWriter.Column location(String name) {
+        if ("warehouse".equalsIgnoreCase(name)) return StockWriter.Column.WAREHOUSE;
+        if ("shelf".equalsIgnoreCase(name)) return StockWriter.Column.SHELF;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Location must be warehouse or shelf");
+    }
+
+    private static ResponseStatusException shortage(TransferStockRequest.Line line, StockWriter.Column from) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Not enough " + from.name().toLowerCase(Locale.ROOT)
+                + " stock of '" + line.category + "/" + line.item + "' to move " + line.quantity);
+    }
+
+    // Buffered when write-behind is on, otherwise one atomic statement (see StockWriter) whose
+    // exact effect is published for StockTotals once the transaction commits
+    private void adjust(AdjustStockRequest req, StockWriter.Column column, String actor) {
+        if (req == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is required");
+        boolean set = "set".equalsIgnoreCase(req.mode);
+        if (set && req.quantity < 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be >= 0");
+        if (!set && req.quantity == 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must not be 0");
+        String category = (req.category != null && !req.category.isBlank()) ? req.category.trim() : null;
+        String item = (req.item != null && !req.item.isBlank()) ? req.item.trim() : null;
+        if (category == null || item == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category and item are required");
+        if (buffer.accept(category, item, column, set, req.quantity, actor)) return;
+        writeTx.executeWithoutResult(status -> {
+            StockRowChange change = set
+                    ? writer.set(category, item, column, req.quantity, actor)
+                    : writer.add(category, item, column, req.quantity, actor);
+            events.publishEvent(new StockChangeEvent(List.of(change)));
+        });
+    }
+}
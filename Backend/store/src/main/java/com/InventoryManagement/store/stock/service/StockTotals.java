@@ -0,0 +1,181 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.common.projection.JournaledProjection;
+import com.InventoryManagement.store.stock.dto.StockSummaryDto;
+import com.InventoryManagement.store.stock.dto.StockTotalsDriftDto;
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockItemRepository;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Warehouse, shelf and per-category stock totals kept in memory for /api/stock/summary.
+// Committed StockChangeEvents add their exact deltas; a scheduled reconcile re-derives the totals
+// from stock_items, records the drift it corrected and replaces them (see JournaledProjection).
+@Component
+public class StockTotals {
+
+    private static final Logger log = LoggerFactory.getLogger(StockTotals.class);
+
+    private final StockItemRepository repo;
+    private final JournaledProjection<Totals, StockChangeEvent> totals;
+
+    // Drift bookkeeping exposed through drift()
+    private volatile Instant lastReconciledAt;
+    private volatile long lastWarehouseDrift;
+    private volatile long lastShelfDrift;
+    private volatile int lastCategoriesDrifted;
+    private final AtomicLong reconciles = new AtomicLong();
+    private final AtomicLong reconcilesWithDrift = new AtomicLong();
+
+    public StockTotals(StockItemRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.totals = new JournaledProjection<>("Stock totals", new Totals(), this::load, StockTotals::apply,
+                this::recordDrift, txManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(StockChangeEvent event) {
+        totals.apply(event);
+    }
+
+    // 503 until seeded: never scans on the request thread, the scheduled seed retry loads the totals
+    public StockSummaryDto snapshot() {
+        Totals t = totals.requireSeeded();
+        long w = t.warehouse.sum();
+        long s = t.shelf.sum();
+        StockSummaryDto dto = new StockSummaryDto();
+        dto.totals = new StockSummaryDto.Totals();
+        dto.totals.warehouse = w; dto.totals.shelf = s; dto.totals.combined = w + s;
+        dto.pie = new StockSummaryDto.Pie();
+        dto.pie.warehouse = w; dto.pie.shelf = s;
+        dto.categories = new ArrayList<>(t.categories.size());
+        t.categories.forEach((key, c) -> {
+            StockSummaryDto.CategoryBreakdown b = new StockSummaryDto.CategoryBreakdown();
+            b.category = c.name;
+            b.warehouseQty = c.warehouse.sum();
+            b.shelfQty = c.shelf.sum();
+            dto.categories.add(b);
+        });
+        return dto;
+    }
+
+    public StockTotalsDriftDto drift() {
+        StockTotalsDriftDto d = new StockTotalsDriftDto();
+        d.lastReconciledAt = lastReconciledAt;
+        d.lastWarehouseDrift = lastWarehouseDrift;
+        d.lastShelfDrift = lastShelfDrift;
+        d.lastCategoriesDrifted = lastCategoriesDrifted;
+        d.reconciles = reconciles.get();
+        d.reconcilesWithDrift = reconcilesWithDrift.get();
+        return d;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.totals.seed-retry-ms:60000}",
+            initialDelayString = "${app.stock.totals.seed-retry-ms:60000}")
+    public void retrySeed() {
+        totals.retrySeed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.totals.reconcile-ms:300000}",
+            initialDelayString = "${app.stock.totals.reconcile-ms:300000}")
+    public void reconcile() {
+        if (totals.rebuild() != null) lastReconciledAt = Instant.now();
+    }
+
+    static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Totals load() {
+        Totals into = new Totals();
+        for (StockItemRepository.CatAgg a : repo.groupByCategory()) {
+            into.add(a.getCategory(), StockWriter.Column.WAREHOUSE, a.getWarehouseQty() == null ? 0 : a.getWarehouseQty());
+            into.add(a.getCategory(), StockWriter.Column.SHELF, a.getShelfQty() == null ? 0 : a.getShelfQty());
+        }
+        return into;
+    }
+
+    private static void apply(Totals t, StockChangeEvent event) {
+        for (StockRowChange c : event.getChanges()) {
+            t.add(c.getCategory(), c.getColumn(), c.getDelta());
+        }
+    }
+
+    private void recordDrift(Totals memory, Totals db) {
+        long w = db.warehouse.sum() - memory.warehouse.sum();
+        long s = db.shelf.sum() - memory.shelf.sum();
+        Set<String> keys = new HashSet<>(db.categories.keySet());
+        keys.addAll(memory.categories.keySet());
+        List<String> drifted = new ArrayList<>();
+        for (String key : keys) {
+            long dw = db.total(key, StockWriter.Column.WAREHOUSE) - memory.total(key, StockWriter.Column.WAREHOUSE);
+            long ds = db.total(key, StockWriter.Column.SHELF) - memory.total(key, StockWriter.Column.SHELF);
+            if (dw != 0 || ds != 0) drifted.add(key + "=" + dw + "/" + ds);
+        }
+        reconciles.incrementAndGet();
+        lastWarehouseDrift = w;
+        lastShelfDrift = s;
+        lastCategoriesDrifted = drifted.size();
+        if (w != 0 || s != 0 || !drifted.isEmpty()) {
+            reconcilesWithDrift.incrementAndGet();
+            log.warn("Stock totals drift corrected: warehouse={}, shelf={}, categories(warehouse/shelf) {}",
+                    w, s, String.join(", ", drifted));
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder warehouse = new LongAdder();
+        final LongAdder shelf = new LongAdder();
+        final ConcurrentHashMap<String, CategoryTotals> categories = new ConcurrentHashMap<>();
+
+        void add(String category, StockWriter.Column column, long delta) {
+            CategoryTotals c = categories.computeIfAbsent(categoryKey(category),
+                    k -> new CategoryTotals(category == null ? "" : category.trim()));
+            if (column == StockWriter.Column.WAREHOUSE) {
+                warehouse.add(delta);
+                c.warehouse.add(delta);
+            } else {
+                shelf.add(delta);
+                c.shelf.add(delta);
+            }
+        }
+
+        long total(String key, StockWriter.Column column) {
+            CategoryTotals c = categories.get(key);
+            if (c == null) return 0;
+            return column == StockWriter.Column.WAREHOUSE ? c.warehouse.sum() : c.shelf.sum();
+        }
+    }
+
+    private static final class CategoryTotals {
+        final String name;
+        final LongAdder warehouse = new LongAdder();
+        final LongAdder shelf = new LongAdder();
+
+        CategoryTotals(String name) { this.name = name; }
+    }
+}
@@ -0,0 +1,231 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.stock.event.StockChangeEvent;
+import com.InventoryManagement.store.stock.repository.StockChange;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Opt-in write-behind for /api/stock adjustments (app.stock.write-behind.enabled). Adjustments are
+// netted per (category, item) in striped maps and written by StockWriter.applyAll every flush-ms,
+// or sooner once flush-entries items are waiting. A flush drains, writes and commits under the
+// write lock (including the AFTER_COMMIT listeners that move StockTotals), and readers see pending
+// changes under the read lock, so every change is counted exactly once: buffered or committed.
+@Component
+public class StockWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(StockWriteBuffer.class);
+    private static final int STRIPES = 16;
+
+    private final StockWriter writer;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int flushEntries;
+    private final int maxPending;
+    private final long flushMs;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger pendingKeys = new AtomicInteger();
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    // accept() holds the read side across its check and add, shutdown() takes the write side to stop
+    // accepting, so no change can slip in after the final flush has drained the buffer
+    private final ReentrantReadWriteLock acceptGate = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Own thread rather than the shared @Scheduled pool, so hourly rebuilds or nightly snapshots
+    // running there can never delay a flush and leave buffered stock unwritten
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stock-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean accepting;
+
+    public StockWriteBuffer(StockWriter writer,
+                            ApplicationEventPublisher events,
+                            PlatformTransactionManager txManager,
+                            @Value("${app.stock.write-behind.enabled:false}") boolean enabled,
+                            @Value("${app.stock.write-behind.flush-ms:200}") long flushMs,
+                            @Value("${app.stock.write-behind.flush-entries:1000}") int flushEntries,
+                            @Value("${app.stock.write-behind.max-pending:100000}") int maxPending) {
+        this.writer = writer;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.enabled = enabled;
+        this.flushEntries = Math.max(1, flushEntries);
+        this.maxPending = Math.max(this.flushEntries, maxPending);
+        this.flushMs = Math.max(10, flushMs);
+        this.accepting = enabled;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    // Buffers the adjustment; false means write it directly (disabled or shutting down)
+    public boolean accept(String category, String item, StockWriter.Column column, boolean set, long quantity, String actor) {
+        if (!accepting) return false;
+        String key = StockChange.key(category, item);
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        acceptGate.readLock().lock();
+        try {
+            if (!accepting) return false;
+            synchronized (stripe) {
+                StockChange change = stripe.pending.get(key);
+                if (change == null) {
+                    if (pendingKeys.get() >= maxPending) {
+                        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stock write buffer is full, retry shortly");
+                    }
+                    change = new StockChange(category, item);
+                    stripe.pending.put(key, change);
+                    pendingKeys.incrementAndGet();
+                }
+                if (set) change.op(column).set(quantity); else change.op(column).add(quantity);
+                change.recordActor(actor);
+            }
+            if (pendingKeys.get() >= flushEntries && flushRequested.compareAndSet(false, true)) {
+                flusher.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            }
+        } finally {
+            acceptGate.readLock().unlock();
+        }
+        return true;
+    }
+
+    // Runs reader with the buffered changes while no flush can commit
+    public <T> T withPending(Function<Map<String, StockChange>, T> reader) {
+        if (!enabled) return reader.apply(Map.of());
+        flushLock.readLock().lock();
+        try {
+            Map<String, StockChange> view = new HashMap<>();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    for (Map.Entry<String, StockChange> e : stripe.pending.entrySet()) {
+                        StockChange copy = new StockChange(e.getValue().getCategory(), e.getValue().getItem());
+                        copy.then(e.getValue());
+                        view.put(e.getKey(), copy);
+                    }
+                }
+            }
+            return reader.apply(view);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    // Writes the buffer out now if it holds any of the keys, so a direct write to those rows lands
+    // after the adjustments accepted before it
+    public void flushIfPending(Collection<String> keys) {
+        if (!enabled || pendingKeys.get() == 0) return;
+        for (String key : keys) {
+            Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+            boolean pending;
+            synchronized (stripe) {
+                pending = stripe.pending.containsKey(key);
+            }
+            if (pending) {
+                flush();
+                return;
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An escaped exception would cancel the schedule for good
+                log.error("Stock write-behind flush failed", e);
+            }
+        }, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        if (!enabled) return;
+        flushLock.writeLock().lock();
+        try {
+            Map<String, StockChange> batch = new LinkedHashMap<>();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    if (stripe.pending.isEmpty()) continue;
+                    batch.putAll(stripe.pending);
+                    stripe.pending = new HashMap<>();
+                }
+            }
+            if (batch.isEmpty()) return;
+            pendingKeys.addAndGet(-batch.size());
+            try {
+                List<StockChange> changes = new ArrayList<>(batch.values());
+                tx.executeWithoutResult(s -> {
+                    List<StockRowChange> applied = writer.applyAll(changes, StockRowChange.Kind.NET);
+                    if (!applied.isEmpty()) events.publishEvent(new StockChangeEvent(applied));
+                });
+            } catch (RuntimeException e) {
+                log.warn("Stock write-behind flush of {} items failed, keeping them buffered", batch.size(), e);
+                requeue(batch);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    // Graceful shutdown: stop buffering, then write out whatever is left
+    @PreDestroy
+    public void shutdown() {
+        acceptGate.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptGate.writeLock().unlock();
+        }
+        flusher.shutdown();
+        flush();
+        if (pendingKeys.get() > 0) {
+            log.error("{} buffered stock changes could not be written during shutdown", pendingKeys.get());
+        }
+    }
+
+    // Failed changes go back in front of anything buffered since the drain
+    private void requeue(Map<String, StockChange> batch) {
+        for (Map.Entry<String, StockChange> e : batch.entrySet()) {
+            Stripe stripe = stripes[Math.floorMod(e.getKey().hashCode(), STRIPES)];
+            synchronized (stripe) {
+                StockChange later = stripe.pending.get(e.getKey());
+                StockChange earlier = e.getValue();
+                if (later != null) earlier.then(later); else pendingKeys.incrementAndGet();
+                stripe.pending.put(e.getKey(), earlier);
+            }
+        }
+    }
+
+    private static final class Stripe {
+        Map<String, StockChange> pending = new HashMap<>();
+    }
+}
@@ -0,0 +1,74 @@
+package com.InventoryManagement.store.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+	// Small Integer keys k land in stripe k % 16, so 1, 17, 33 share one stripe
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntryOfAFullStripe() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(32); // 2 per stripe
+		cache.put(1, "one");
+		cache.put(17, "seventeen");
+		cache.get(1);
+		cache.put(33, "thirty-three");
+
+		assertThat(cache.get(1)).isEqualTo("one");
+		assertThat(cache.get(17)).isNull();
+		assertThat(cache.get(33)).isEqualTo("thirty-three");
+	}
+
+	@Test
+	void sizeStaysWithinTheBound() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(64);
+		for (int i = 0; i < 10_000; i++) cache.put(i, i);
+
+		assertThat(cache.size()).isLessThanOrEqualTo(64);
+	}
+
+	@Test
+	void entriesExpireAfterTheirTtl() throws InterruptedException {
+		BoundedCache<String, String> cache = new BoundedCache<>(16, 500);
+		cache.put("default", "a");
+		cache.put("short", "b", 1);
+		cache.put("forever", "c", 0);
+		Thread.sleep(10);
+
+		assertThat(cache.get("short")).isNull();
+		assertThat(cache.get("default")).isEqualTo("a");
+		Thread.sleep(600);
+		assertThat(cache.get("default")).isNull();
+		assertThat(cache.get("forever")).isEqualTo("c");
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void computeIfAbsentLoadsOnceAndDoesNotCacheNull() {
+		BoundedCache<String, String> cache = new BoundedCache<>(16);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertThat(cache.computeIfAbsent("k", k -> { loads.incrementAndGet(); return "v"; })).isEqualTo("v");
+		assertThat(cache.computeIfAbsent("k", k -> { loads.incrementAndGet(); return "w"; })).isEqualTo("v");
+		assertThat(cache.computeIfAbsent("none", k -> { loads.incrementAndGet(); return null; })).isNull();
+		assertThat(cache.computeIfAbsent("none", k -> { loads.incrementAndGet(); return null; })).isNull();
+		assertThat(loads).hasValue(3);
+	}
+
+	@Test
+	void invalidateAndClearRemoveEntries() {
+		BoundedCache<String, String> cache = new BoundedCache<>(16);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.invalidate("a");
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isEqualTo("2");
+		cache.clear();
+		assertThat(cache.size()).isZero();
+	}
+}
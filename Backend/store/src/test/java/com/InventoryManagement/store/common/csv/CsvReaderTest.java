@@ -0,0 +1,76 @@
+package com.InventoryManagement.store.common.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+	@Test
+	void quotedFieldsKeepCommasEscapedQuotesAndLineBreaks() throws IOException {
+		CsvReader csv = reader("a,\"b,c\",\"say \"\"hi\"\"\"\n\"two\nlines\",x\n");
+
+		assertThat(csv.next()).containsExactly("a", "b,c", "say \"hi\"");
+		assertThat(csv.recordLine()).isEqualTo(1);
+		assertThat(csv.next()).containsExactly("two\nlines", "x");
+		assertThat(csv.recordLine()).isEqualTo(2);
+		assertThat(csv.next()).isNull();
+	}
+
+	@Test
+	void lineNumbersCountLineBreaksInsideQuotes() throws IOException {
+		CsvReader csv = reader("h\n\"1\n2\n3\"\nnext\n");
+
+		csv.next();
+		csv.next();
+		assertThat(csv.next()).containsExactly("next");
+		assertThat(csv.recordLine()).isEqualTo(5);
+	}
+
+	@Test
+	void crlfEndsARecordLikeLf() throws IOException {
+		CsvReader csv = reader("a,b\r\nc,d\r\n");
+
+		assertThat(csv.next()).containsExactly("a", "b");
+		assertThat(csv.next()).containsExactly("c", "d");
+		assertThat(csv.recordLine()).isEqualTo(2);
+		assertThat(csv.next()).isNull();
+	}
+
+	@Test
+	void lastRecordWithoutLineBreakIsReturned() throws IOException {
+		CsvReader csv = reader("a,b\nc,d");
+
+		assertThat(csv.next()).containsExactly("a", "b");
+		assertThat(csv.next()).containsExactly("c", "d");
+		assertThat(csv.next()).isNull();
+	}
+
+	@Test
+	void blankLinesAreSkippedButEmptyFieldsKept() throws IOException {
+		CsvReader csv = reader("a,,b\n\n\r\n,\n");
+
+		assertThat(csv.next()).containsExactly("a", "", "b");
+		assertThat(csv.next()).containsExactly("", "");
+		assertThat(csv.recordLine()).isEqualTo(4);
+		assertThat(csv.next()).isNull();
+	}
+
+	@Test
+	void unterminatedQuoteReportsTheLineTheRecordStartedOn() throws IOException {
+		CsvReader csv = reader("a\n\"open\nnever closed");
+
+		csv.next();
+		assertThatThrownBy(csv::next)
+				.isInstanceOf(CsvReader.CsvFormatException.class)
+				.satisfies(e -> assertThat(((CsvReader.CsvFormatException) e).getLine()).isEqualTo(2));
+	}
+
+	private static CsvReader reader(String text) {
+		return new CsvReader(new StringReader(text));
+	}
+}
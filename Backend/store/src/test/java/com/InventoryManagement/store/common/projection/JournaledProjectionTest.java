@@ -0,0 +1,84 @@
+package com.InventoryManagement.store.common.projection;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JournaledProjectionTest {
+
+	@Test
+	void unseededProjectionAnswers503() {
+		JournaledProjection<List<Integer>, Integer> projection = projection(ArrayList::new, null);
+
+		assertThat(projection.isSeeded()).isFalse();
+		assertThatThrownBy(projection::requireSeeded)
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("Numbers are still being prepared");
+	}
+
+	@Test
+	void eventsArrivingDuringTheLoadAreReplayedOntoTheFreshState() {
+		AtomicReference<JournaledProjection<List<Integer>, Integer>> self = new AtomicReference<>();
+		self.set(projection(() -> {
+			self.get().apply(7);
+			return new ArrayList<>(List.of(1, 2));
+		}, null));
+
+		JournaledProjection.Rebuilt<List<Integer>> rebuilt = self.get().rebuild();
+
+		assertThat(rebuilt.previous()).isNull();
+		assertThat(self.get().requireSeeded()).containsExactly(1, 2, 7);
+	}
+
+	@Test
+	void failedSeedKeepsTheProjectionUnseededUntilARetrySucceeds() {
+		AtomicInteger attempts = new AtomicInteger();
+		JournaledProjection<List<Integer>, Integer> projection = projection(() -> {
+			if (attempts.incrementAndGet() == 1) throw new IllegalStateException("database down");
+			return new ArrayList<>();
+		}, null);
+
+		assertThat(projection.rebuild()).isNull();
+		assertThat(projection.isSeeded()).isFalse();
+
+		projection.retrySeed();
+		projection.retrySeed();
+
+		assertThat(projection.isSeeded()).isTrue();
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	void replacingASeededStateHandsBothToOnReplace() {
+		List<List<Integer>> replaced = new ArrayList<>();
+		JournaledProjection<List<Integer>, Integer> projection = projection(() -> new ArrayList<>(List.of(1)),
+				(previous, fresh) -> {
+					replaced.add(previous);
+					replaced.add(fresh);
+				});
+
+		projection.rebuild();
+		projection.apply(5);
+		projection.rebuild();
+
+		assertThat(replaced).containsExactly(List.of(1, 5), List.of(1));
+		assertThat(projection.current()).containsExactly(1);
+	}
+
+	private static JournaledProjection<List<Integer>, Integer> projection(
+			Supplier<List<Integer>> loader, BiConsumer<List<Integer>, List<Integer>> onReplace) {
+		return new JournaledProjection<>("Numbers", new ArrayList<>(), loader, List::add, onReplace,
+				mock(PlatformTransactionManager.class));
+	}
+}
@@ -0,0 +1,100 @@
+package com.InventoryManagement.store.inventory.service;
+
+import com.InventoryManagement.store.inventory.dto.InventoryResponse;
+import com.InventoryManagement.store.inventory.dto.InventorySearchHit;
+import com.InventoryManagement.store.inventory.event.InventoryChangeEvent;
+import com.InventoryManagement.store.inventory.repository.InventoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InventorySearchIndexTest {
+
+	private InventorySearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new InventorySearchIndex(mock(InventoryItemRepository.class));
+	}
+
+	@Test
+	void everyTokenMustPrefixATermAndNewestComesFirst() {
+		change(item(1, 1, "SKU-1", "Red Hammer", "Tools", "Aisle 3"),
+				item(2, 1, "SKU-2", "Blue Hammer", "Tools", "Aisle 4"),
+				item(3, 1, "SKU-3", "Red Saw", "Tools", "Aisle 3"));
+
+		assertThat(ids(index.search("ham", 10))).containsExactly(2L, 1L);
+		assertThat(ids(index.search("red ham", 10))).containsExactly(1L);
+		assertThat(ids(index.search("aisle 3", 10))).containsExactly(3L, 1L);
+		assertThat(ids(index.search("ham", 1))).containsExactly(2L);
+		assertThat(index.search("drill", 10)).isEmpty();
+		assertThat(index.search("  ", 10)).isEmpty();
+	}
+
+	@Test
+	void renamingDropsTermsNoLongerUsed() {
+		change(item(1, 1, "A1", "Hammer", "Tools", "Bin"));
+		int before = index.termCount();
+
+		change(item(1, 2, "A1", "Chisel", "Tools", "Bin"));
+
+		assertThat(index.search("hammer", 10)).isEmpty();
+		assertThat(ids(index.search("chis", 10))).containsExactly(1L);
+		assertThat(index.termCount()).isEqualTo(before);
+	}
+
+	@Test
+	void sharedTermStaysWhileAnotherItemUsesIt() {
+		change(item(1, 1, "A1", "Hammer", "Tools", "Bin"),
+				item(2, 1, "A2", "Hammer", "Tools", "Bin"));
+
+		change(item(1, 2, "A1", "Chisel", "Tools", "Bin"));
+
+		assertThat(ids(index.search("hammer", 10))).containsExactly(2L);
+	}
+
+	@Test
+	void termCanBeReusedAfterItWasDropped() {
+		change(item(1, 1, "A1", "Hammer", "Tools", "Bin"));
+		change(item(1, 2, "A1", "Chisel", "Tools", "Bin"));
+		change(item(1, 3, "A1", "Hammer", "Tools", "Bin"));
+
+		assertThat(ids(index.search("hammer", 10))).containsExactly(1L);
+		assertThat(index.search("chisel", 10)).isEmpty();
+	}
+
+	@Test
+	void olderVersionIsIgnored() {
+		change(item(1, 5, "A1", "Chisel", "Tools", "Bin"));
+		change(item(1, 4, "A1", "Hammer", "Tools", "Bin"));
+
+		assertThat(index.search("hammer", 10)).isEmpty();
+		assertThat(ids(index.search("chisel", 10))).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	private void change(InventoryResponse... items) {
+		index.onChange(new InventoryChangeEvent(InventoryChangeEvent.Kind.CREATED, List.of(items)));
+	}
+
+	private static InventoryResponse item(long id, long version, String sku, String name, String category, String location) {
+		InventoryResponse r = new InventoryResponse();
+		r.setId(id);
+		r.setVersion(version);
+		r.setSku(sku);
+		r.setName(name);
+		r.setCategory(category);
+		r.setLocation(location);
+		r.setStatus("PENDING");
+		r.setQuantity(1);
+		return r;
+	}
+
+	private static List<Long> ids(List<InventorySearchHit> hits) {
+		return hits.stream().map(InventorySearchHit::getId).toList();
+	}
+}
@@ -0,0 +1,74 @@
+package com.InventoryManagement.store.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Stored payload hashes must keep verifying: these pin PayloadHasher to the original
+// String-concatenation implementation, byte for byte
+class PayloadHasherTest {
+
+	@Test
+	void matchesKnownStoredDigests() {
+		assertThat(PayloadHasher.hash("A-1", " Widget ", 5, "12.50", null, "Tools", "Aisle 3"))
+				.isEqualTo("807fefc7fc9430066ed44c0b4d1240bf62222fd5aee2e026093574054309aa5e");
+		assertThat(PayloadHasher.hash(null, "Café 😀", -7, null, "  ", null, ""))
+				.isEqualTo("b671d0925089c0b183a5b76c35f30ae576f802dc63fe0dc7248e9dbd577027d2");
+	}
+
+	@Test
+	void matchesTheOriginalImplementationOnRandomInput() throws Exception {
+		Random random = new Random(42);
+		for (int n = 0; n < 5000; n++) {
+			String sku = randomText(random);
+			String name = randomText(random);
+			Integer qty = random.nextInt(8) == 0 ? null
+					: random.nextInt(8) == 0 ? Integer.MIN_VALUE : random.nextInt() >> random.nextInt(32);
+			String price = randomText(random);
+			String desc = randomText(random);
+			String cat = randomText(random);
+			String loc = randomText(random);
+			assertThat(PayloadHasher.hash(sku, name, qty, price, desc, cat, loc))
+					.as("input %d", n)
+					.isEqualTo(original(sku, name, qty, price, desc, cat, loc));
+		}
+	}
+
+	@Test
+	void longFieldsGrowTheBuffer() throws Exception {
+		String desc = "x".repeat(5000) + "é".repeat(2000);
+		assertThat(PayloadHasher.hash("s", "n", 1, "1", desc, "c", "l"))
+				.isEqualTo(original("s", "n", 1, "1", desc, "c", "l"));
+	}
+
+	// Null, whitespace padding, ASCII, two- and three-byte chars, surrogate pairs and lone surrogates
+	private static String randomText(Random random) {
+		if (random.nextInt(6) == 0) return null;
+		char[] pool = {'a', 'Z', '7', ' ', '\t', '|', '=', 'é', '€', '\uD83D', '\uDE00', '\u0000'};
+		StringBuilder sb = new StringBuilder();
+		int len = random.nextInt(12);
+		for (int i = 0; i < len; i++) sb.append(pool[random.nextInt(pool.length)]);
+		return sb.toString();
+	}
+
+	// The hash as computed before PayloadHasher existed
+	private static String original(String sku, String name, Integer qty, String unitPrice,
+								   String desc, String category, String location) throws Exception {
+		String canonical = "sku=" + safe(sku) + "|" +
+				"name=" + safe(name) + "|" +
+				"qty=" + (qty == null ? "" : qty) + "|" +
+				"price=" + safe(unitPrice) + "|" +
+				"desc=" + safe(desc) + "|" +
+				"cat=" + safe(category) + "|" +
+				"loc=" + safe(location);
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest);
+	}
+
+	private static String safe(String s) { return s == null ? "" : s.trim(); }
+}
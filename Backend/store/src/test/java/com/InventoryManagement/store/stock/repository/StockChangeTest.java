@@ -0,0 +1,100 @@
+package com.InventoryManagement.store.stock.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Netting must never change the outcome: a netted op applied once has to equal the original
+// adjustments applied one by one, each add clamped at 0
+class StockChangeTest {
+
+	@Test
+	void addsComposeWithTheirClamping() {
+		StockChange.QtyOp op = new StockChange.QtyOp();
+		op.add(-5);
+		op.add(2);
+
+		assertThat(op.apply(3)).isEqualTo(2);   // 3 -> 0 -> 2
+		assertThat(op.apply(10)).isEqualTo(7);  // 10 -> 5 -> 7
+		assertThat(op.isSet()).isFalse();
+	}
+
+	@Test
+	void setDiscardsEarlierAddsAndLaterAddsApplyToIt() {
+		StockChange.QtyOp op = new StockChange.QtyOp();
+		op.add(100);
+		op.set(4);
+		op.add(-10);
+		op.add(3);
+
+		assertThat(op.isSet()).isTrue();
+		assertThat(op.apply(999)).isEqualTo(3); // 4 -> 0 -> 3
+	}
+
+	@Test
+	void untouchedColumnIsLeftAlone() {
+		StockChange change = new StockChange("Tools", "Hammer");
+		change.getWarehouse().add(2);
+
+		assertThat(change.getShelf().isTouched()).isFalse();
+		assertThat(change.getShelf().apply(8)).isEqualTo(8);
+		assertThat(change.op(StockWriter.Column.WAREHOUSE).apply(8)).isEqualTo(10);
+	}
+
+	@Test
+	void addThatNetsToZeroStillCountsAsTouched() {
+		StockChange.QtyOp op = new StockChange.QtyOp();
+		op.add(5);
+		op.add(-5);
+
+		assertThat(op.isTouched()).isTrue();
+		assertThat(op.apply(1)).isEqualTo(1);
+		assertThat(op.apply(0)).isEqualTo(0);
+	}
+
+	@Test
+	void nettedOpsMatchSequentialApplication() {
+		Random random = new Random(7);
+		for (int run = 0; run < 2000; run++) {
+			StockChange first = new StockChange("c", "i");
+			StockChange second = new StockChange("c", "i");
+			StockChange whole = new StockChange("c", "i");
+			int steps = 1 + random.nextInt(8);
+			long[] values = new long[steps];
+			boolean[] sets = new boolean[steps];
+			for (int s = 0; s < steps; s++) {
+				sets[s] = random.nextInt(4) == 0;
+				values[s] = sets[s] ? random.nextInt(20) : random.nextInt(21) - 10;
+				StockChange.QtyOp part = (s < steps / 2 ? first : second).getWarehouse();
+				apply(part, sets[s], values[s]);
+				apply(whole.getWarehouse(), sets[s], values[s]);
+			}
+			first.then(second);
+			for (long start = 0; start <= 25; start++) {
+				long expected = start;
+				for (int s = 0; s < steps; s++) expected = sets[s] ? values[s] : Math.max(0, expected + values[s]);
+				assertThat(whole.getWarehouse().apply(start)).as("run %d from %d", run, start).isEqualTo(expected);
+				assertThat(first.getWarehouse().apply(start)).as("then(), run %d from %d", run, start).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void actorBecomesMultipleOnceUsersDiffer() {
+		StockChange change = new StockChange("c", "i");
+		change.recordActor("ann");
+		change.recordActor("ann");
+		assertThat(change.getActor()).isEqualTo("ann");
+
+		StockChange later = new StockChange("c", "i");
+		later.recordActor("bob");
+		change.then(later);
+		assertThat(change.getActor()).isEqualTo(StockChange.MULTIPLE_ACTORS);
+	}
+
+	private static void apply(StockChange.QtyOp op, boolean set, long value) {
+		if (set) op.set(value); else op.add(value);
+	}
+}
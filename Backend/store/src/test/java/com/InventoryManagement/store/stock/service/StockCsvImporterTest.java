@@ -0,0 +1,96 @@
+package com.InventoryManagement.store.stock.service;
+
+import com.InventoryManagement.store.stock.dto.StockImportResponse;
+import com.InventoryManagement.store.stock.repository.StockChange;
+import com.InventoryManagement.store.stock.repository.StockRowChange;
+import com.InventoryManagement.store.stock.repository.StockWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockCsvImporterTest {
+
+	private StockWriter writer;
+	private StockCsvImporter importer;
+
+	@BeforeEach
+	void setUp() {
+		writer = mock(StockWriter.class);
+		when(writer.applyAll(anyList(), any())).thenReturn(List.of());
+		importer = new StockCsvImporter(writer, mock(StockWriteBuffer.class), mock(ApplicationEventPublisher.class),
+				mock(PlatformTransactionManager.class), 2, 10);
+	}
+
+	@Test
+	void repeatedItemInAChunkIsAppliedOnceWithTheLaterValues() throws IOException {
+		StockImportResponse report = run("category,item,warehouse_qty,shelf_qty\n"
+				+ "Tools,Hammer,5,1\n"
+				+ "tools,hammer,7,\n"
+				+ "Tools,Saw,3,3\n");
+
+		assertThat(report.applied).isEqualTo(2);
+		assertThat(report.merged).isEqualTo(1);
+		assertThat(report.failed).isZero();
+		assertThat(report.lines).isEqualTo(4);
+
+		List<StockChange> changes = applied().get(0);
+		assertThat(changes).hasSize(2);
+		StockChange hammer = changes.get(0);
+		assertThat(hammer.getWarehouse().apply(0)).isEqualTo(7);
+		assertThat(hammer.getShelf().apply(0)).isEqualTo(1);
+	}
+
+	@Test
+	void everyRecordIsCountedOnce() throws IOException {
+		StockImportResponse report = run("category,item,warehouse_qty\r\n"
+				+ "A,x,1\r\n"
+				+ "A,x,2\r\n"
+				+ "A,y,-1\r\n"
+				+ "A,y,3\r\n"
+				+ "B,\"multi\nline\",4\r\n"
+				+ "B,z,5");
+
+		assertThat(report.applied + report.merged + report.failed).isEqualTo(6);
+		assertThat(report.applied).isEqualTo(4);
+		assertThat(report.merged).isEqualTo(1);
+		assertThat(report.failed).isEqualTo(1);
+		assertThat(report.errors).extracting(e -> e.line).containsExactly(4L);
+		assertThat(report.complete).isTrue();
+	}
+
+	@Test
+	void brokenQuoteStopsTheImportAfterApplyingWhatWasRead() throws IOException {
+		StockImportResponse report = run("category,item,shelf_qty\nA,x,1\nA,\"y,2\n");
+
+		assertThat(report.complete).isFalse();
+		assertThat(report.applied).isEqualTo(1);
+		assertThat(report.failed).isEqualTo(1);
+		assertThat(report.errors).extracting(e -> e.line).containsExactly(3L);
+	}
+
+	private StockImportResponse run(String csv) throws IOException {
+		return importer.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "tester");
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<StockChange>> applied() {
+		ArgumentCaptor<List<StockChange>> captor = ArgumentCaptor.forClass(List.class);
+		verify(writer, times(1)).applyAll(captor.capture(), any(StockRowChange.Kind.class));
+		return captor.getAllValues();
+	}
+}